@@ -0,0 +1,52 @@
+package com.techyourchance.unittestingfundamentals.example1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositiveNumberValidatorBenchmark {
+
+    @Param({"1000", "1000000"})
+    int count;
+
+    PositiveNumberValidator mPositiveNumberValidator;
+    int[] mNumbers;
+
+    @Setup
+    public void setup() {
+        mPositiveNumberValidator = new PositiveNumberValidator();
+        Random random = new Random(42);
+        mNumbers = new int[count];
+        for (int i = 0; i < count; i++) {
+            mNumbers[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public int isPositive() {
+        int positives = 0;
+        for (int number : mNumbers) {
+            if (mPositiveNumberValidator.isPositive(number)) {
+                positives++;
+            }
+        }
+        return positives;
+    }
+}
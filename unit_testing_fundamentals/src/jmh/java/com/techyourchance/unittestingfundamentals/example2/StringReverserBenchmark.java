@@ -0,0 +1,76 @@
+package com.techyourchance.unittestingfundamentals.example2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringReverserBenchmark {
+
+    @Param({"16", "1048576"})
+    int length;
+
+    StringReverser mStringReverser;
+    String mString;
+    String mCyrillicString;
+    char[] mChars;
+    byte[] mLatin1Bytes;
+    byte[] mLatin1Reversed;
+
+    @Setup
+    public void setup() {
+        mStringReverser = new StringReverser();
+        Random random = new Random(42);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        mString = new String(chars);
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('\u0430' + random.nextInt(32));
+        }
+        mCyrillicString = new String(chars);
+        mChars = new char[length];
+        mLatin1Bytes = mString.getBytes(StandardCharsets.ISO_8859_1);
+        mLatin1Reversed = new byte[length];
+    }
+
+    @Benchmark
+    public String reverse() {
+        return mStringReverser.reverse(mString);
+    }
+
+    @Benchmark
+    public String reverseCyrillic() {
+        return mStringReverser.reverse(mCyrillicString);
+    }
+
+    @Benchmark
+    public char[] reverseIntoCharArray() {
+        mStringReverser.reverse(mString, mChars, 0);
+        return mChars;
+    }
+
+    @Benchmark
+    public byte[] reverseLatin1() {
+        mStringReverser.reverseLatin1(mLatin1Bytes, 0, length, mLatin1Reversed, 0);
+        return mLatin1Reversed;
+    }
+}
@@ -0,0 +1,83 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each benchmark checks every interval against its successor, so the score divided by count is
+ * the cost of a single check
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalsOverlapDetectorBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int count;
+
+    IntervalsOverlapDetector mIntervalsOverlapDetector;
+    Interval[] mIntervals;
+    IntervalArray mIntervalArray;
+    int[] mStarts;
+    int[] mEnds;
+
+    @Setup
+    public void setup() {
+        mIntervalsOverlapDetector = new IntervalsOverlapDetector();
+        Random random = new Random(42);
+        mIntervals = new Interval[count];
+        mIntervalArray = new IntervalArray(count);
+        mStarts = new int[count];
+        mEnds = new int[count];
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(count * 10);
+            int end = start + 1 + random.nextInt(20);
+            mIntervals[i] = new Interval(start, end);
+            mIntervalArray.add(start, end);
+            mStarts[i] = start;
+            mEnds[i] = end;
+        }
+    }
+
+    @Benchmark
+    public int isOverlap() {
+        int overlaps = 0;
+        for (int i = 1; i < count; i++) {
+            if (mIntervalsOverlapDetector.isOverlap(mIntervals[i - 1], mIntervals[i])) {
+                overlaps++;
+            }
+        }
+        return overlaps;
+    }
+
+    @Benchmark
+    public int isOverlapPacked() {
+        int overlaps = 0;
+        for (int i = 1; i < count; i++) {
+            if (mIntervalsOverlapDetector.isOverlap(mIntervalArray, i - 1, mIntervalArray, i)) {
+                overlaps++;
+            }
+        }
+        return overlaps;
+    }
+
+    @Benchmark
+    public int countOverlaps() {
+        return mIntervalsOverlapDetector.countOverlaps(mIntervals[0], mStarts, mEnds, 0, count);
+    }
+}
@@ -0,0 +1,85 @@
+package com.techyourchance.unittestingfundamentals.exercise2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringDuplicatorBenchmark {
+
+    StringDuplicator mStringDuplicator;
+
+    @Setup
+    public void setup() {
+        mStringDuplicator = new StringDuplicator();
+    }
+
+    @State(Scope.Benchmark)
+    public static class DuplicateSource {
+
+        @Param({"16", "1048576"})
+        int length;
+
+        String mString;
+
+        @Setup
+        public void setup() {
+            mString = randomString(length);
+        }
+    }
+
+    /**
+     * Shorter sources than {@link DuplicateSource} so that x1000 still fits in the default heap
+     */
+    @State(Scope.Benchmark)
+    public static class RepeatSource {
+
+        @Param({"16", "1024"})
+        int length;
+
+        @Param({"2", "1000"})
+        int count;
+
+        String mString;
+
+        @Setup
+        public void setup() {
+            mString = randomString(length);
+        }
+    }
+
+    @Benchmark
+    public String duplicate(DuplicateSource source) {
+        return mStringDuplicator.duplicate(source.mString);
+    }
+
+    @Benchmark
+    public String repeat(RepeatSource source) {
+        return mStringDuplicator.repeat(source.mString, source.count);
+    }
+
+    private static String randomString(int length) {
+        Random random = new Random(42);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,77 @@
+package com.techyourchance.unittestingfundamentals.exercise3;
+
+import com.techyourchance.unittestingfundamentals.example3.Interval;
+import com.techyourchance.unittestingfundamentals.example3.IntervalArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each benchmark checks every interval against its successor. Roughly half of the intervals start
+ * where their predecessor ends, so both outcomes of the check are exercised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalsAdjacencyDetectorBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int count;
+
+    IntervalsAdjacencyDetector mIntervalsAdjacencyDetector;
+    Interval[] mIntervals;
+    IntervalArray mIntervalArray;
+
+    @Setup
+    public void setup() {
+        mIntervalsAdjacencyDetector = new IntervalsAdjacencyDetector();
+        Random random = new Random(42);
+        mIntervals = new Interval[count];
+        mIntervalArray = new IntervalArray(count);
+        int previousEnd = 0;
+        for (int i = 0; i < count; i++) {
+            int start = random.nextBoolean() ? previousEnd : previousEnd + 1 + random.nextInt(5);
+            int end = start + 1 + random.nextInt(20);
+            mIntervals[i] = new Interval(start, end);
+            mIntervalArray.add(start, end);
+            previousEnd = end;
+        }
+    }
+
+    @Benchmark
+    public int isAdjacent() {
+        int adjacent = 0;
+        for (int i = 1; i < count; i++) {
+            if (mIntervalsAdjacencyDetector.isAdjacent(mIntervals[i - 1], mIntervals[i])) {
+                adjacent++;
+            }
+        }
+        return adjacent;
+    }
+
+    @Benchmark
+    public int isAdjacentPacked() {
+        int adjacent = 0;
+        for (int i = 1; i < count; i++) {
+            if (mIntervalsAdjacencyDetector.isAdjacent(mIntervalArray, i - 1, mIntervalArray, i)) {
+                adjacent++;
+            }
+        }
+        return adjacent;
+    }
+}
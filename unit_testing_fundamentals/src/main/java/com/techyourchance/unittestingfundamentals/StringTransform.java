@@ -0,0 +1,10 @@
+package com.techyourchance.unittestingfundamentals;
+
+public interface StringTransform {
+
+    /**
+     * Appends the transformed input to the output. Must not keep references to either of them,
+     * because the pipeline reuses both for the following records.
+     */
+    void apply(CharSequence input, StringBuilder output);
+}
@@ -0,0 +1,190 @@
+package com.techyourchance.unittestingfundamentals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Immutable chain of {@link StringTransform}s applied to streams of records.
+ * <p>
+ * The chain is fused: each record passes through all transforms in one go on one thread, every
+ * transform writing into one of two thread-local buffers that the stages alternate between, so the
+ * only allocation per record is the resulting string. Streams are cut into chunks of records that
+ * are transformed in parallel on the given executor while the results are emitted in input order;
+ * the number of chunks in flight is bounded, so memory use doesn't depend on the stream length.
+ */
+public class StringTransformPipeline {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final StringTransform[] mTransforms;
+
+    private final ThreadLocal<StringBuilder[]> mBuffers = new ThreadLocal<StringBuilder[]>() {
+        @Override
+        protected StringBuilder[] initialValue() {
+            return new StringBuilder[] {new StringBuilder(), new StringBuilder()};
+        }
+    };
+
+    public StringTransformPipeline(StringTransform... transforms) {
+        mTransforms = transforms.clone();
+    }
+
+    /**
+     * @return new pipeline that applies the next transform after the transforms of this one
+     */
+    public StringTransformPipeline then(StringTransform next) {
+        StringTransform[] transforms = Arrays.copyOf(mTransforms, mTransforms.length + 1);
+        transforms[mTransforms.length] = next;
+        return new StringTransformPipeline(transforms);
+    }
+
+    /**
+     * Applies all transforms to a single record on the calling thread
+     */
+    public String apply(CharSequence record) {
+        StringBuilder[] buffers = mBuffers.get();
+        CharSequence current = record;
+        for (int i = 0; i < mTransforms.length; i++) {
+            StringBuilder output = buffers[i & 1];
+            output.setLength(0);
+            mTransforms[i].apply(current, output);
+            current = output;
+        }
+        return current.toString();
+    }
+
+    /**
+     * Transforms the records in parallel and passes the results to the listener, on the calling
+     * thread and in the order of the records
+     * @param maxChunksInFlight max number of chunks submitted to the executor but not yet emitted;
+     *                          twice the executor's thread count keeps all threads busy
+     */
+    public void run(Iterator<? extends CharSequence> records, ExecutorService executor, int maxChunksInFlight,
+                    TransformedRecordListener listener) throws InterruptedException {
+        OrderedChunks chunks = new OrderedChunks(executor, maxChunksInFlight);
+        while (records.hasNext()) {
+            List<CharSequence> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (chunk.size() < CHUNK_SIZE && records.hasNext()) {
+                chunk.add(records.next());
+            }
+            emit(chunks.submit(chunk), listener);
+        }
+        while (!chunks.isEmpty()) {
+            emit(chunks.takeOldest(), listener);
+        }
+    }
+
+    /**
+     * Transforms every line of the input in parallel and writes the results to the output, one
+     * per line and in the order of the input lines. Reading and writing happen on the calling thread.
+     */
+    public void run(BufferedReader in, Writer out, ExecutorService executor, int maxChunksInFlight)
+            throws IOException, InterruptedException {
+        OrderedChunks chunks = new OrderedChunks(executor, maxChunksInFlight);
+        String line = in.readLine();
+        while (line != null) {
+            List<CharSequence> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (chunk.size() < CHUNK_SIZE && line != null) {
+                chunk.add(line);
+                line = in.readLine();
+            }
+            write(chunks.submit(chunk), out);
+        }
+        while (!chunks.isEmpty()) {
+            write(chunks.takeOldest(), out);
+        }
+    }
+
+    private void emit(String[] records, TransformedRecordListener listener) {
+        if (records != null) {
+            for (String record : records) {
+                listener.onTransformedRecord(record);
+            }
+        }
+    }
+
+    private void write(String[] records, Writer out) throws IOException {
+        if (records != null) {
+            for (String record : records) {
+                out.write(record);
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * FIFO of chunks being transformed: results are taken in submission order, and submitting into
+     * a full FIFO first waits for the oldest chunk
+     */
+    private class OrderedChunks {
+
+        private final ExecutorService mExecutor;
+        private final int mMaxInFlight;
+        private final ArrayDeque<Future<String[]>> mInFlight = new ArrayDeque<>();
+
+        OrderedChunks(ExecutorService executor, int maxInFlight) {
+            if (maxInFlight <= 0) {
+                throw new IllegalArgumentException("max chunks in flight must be positive");
+            }
+            mExecutor = executor;
+            mMaxInFlight = maxInFlight;
+        }
+
+        /**
+         * @return results of the oldest chunk if it had to be taken to make room, null otherwise
+         */
+        String[] submit(final List<CharSequence> chunk) throws InterruptedException {
+            String[] oldest = mInFlight.size() == mMaxInFlight ? takeOldest() : null;
+            mInFlight.add(mExecutor.submit(new Callable<String[]>() {
+                @Override
+                public String[] call() {
+                    String[] results = new String[chunk.size()];
+                    for (int i = 0; i < results.length; i++) {
+                        results[i] = apply(chunk.get(i));
+                    }
+                    return results;
+                }
+            }));
+            return oldest;
+        }
+
+        boolean isEmpty() {
+            return mInFlight.isEmpty();
+        }
+
+        String[] takeOldest() throws InterruptedException {
+            Future<String[]> oldest = mInFlight.poll();
+            try {
+                return oldest.get();
+            } catch (ExecutionException e) {
+                cancelAll();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                cancelAll();
+                throw e;
+            }
+        }
+
+        private void cancelAll() {
+            for (Future<String[]> future : mInFlight) {
+                future.cancel(true);
+            }
+            mInFlight.clear();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.techyourchance.unittestingfundamentals;
+
+import com.techyourchance.unittestingfundamentals.example2.StringReverser;
+import com.techyourchance.unittestingfundamentals.exercise2.StringDuplicator;
+
+/**
+ * {@link StringTransform}s over the string utilities of this project. They append straight to the
+ * output and don't create intermediate strings, except reverse() for text with chars that may
+ * join with their neighbours.
+ */
+public class StringTransforms {
+
+    private StringTransforms() {
+    }
+
+    /**
+     * Same result as {@link StringReverser#reverse(String)}: user-perceived characters reversed,
+     * so surrogate pairs, combining marks and "\r\n" stay intact
+     */
+    public static StringTransform reverse() {
+        final StringReverser stringReverser = new StringReverser();
+        return new StringTransform() {
+            @Override
+            public void apply(CharSequence input, StringBuilder output) {
+                stringReverser.reverse(input, output);
+            }
+        };
+    }
+
+    /**
+     * Same result as {@link StringDuplicator#repeat(CharSequence, int)}
+     */
+    public static StringTransform repeat(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count");
+        }
+        return new StringTransform() {
+            @Override
+            public void apply(CharSequence input, StringBuilder output) {
+                long length = output.length() + (long) input.length() * count;
+                if (length > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("repeated length too large: " + length);
+                }
+                output.ensureCapacity((int) length);
+                for (int i = 0; i < count; i++) {
+                    output.append(input);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.techyourchance.unittestingfundamentals;
+
+public interface TransformedRecordListener {
+
+    void onTransformedRecord(String record);
+}
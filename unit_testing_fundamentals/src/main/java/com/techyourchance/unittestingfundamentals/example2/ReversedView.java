@@ -0,0 +1,70 @@
+package com.techyourchance.unittestingfundamentals.example2;
+
+/**
+ * Lazy reversed view of a char sequence: created in O(1) and computing each char on demand from
+ * the source, which may be another view. Surrogate pairs stay in order, the same as in
+ * {@link StringReverser#reverse(CharSequence, char[], int)}. The source must not change while the
+ * view is in use.
+ */
+public class ReversedView implements CharSequence {
+
+    private final CharSequence mSource;
+
+    private String mString;
+
+    public ReversedView(CharSequence source) {
+        mSource = source;
+    }
+
+    @Override
+    public int length() {
+        return mSource.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        int length = mSource.length();
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+        }
+        int sourceIndex = length - 1 - index;
+        char c = mSource.charAt(sourceIndex);
+        // the halves of a surrogate pair swap places when reversed, so return the other half
+        if (Character.isLowSurrogate(c) && sourceIndex > 0 && Character.isHighSurrogate(mSource.charAt(sourceIndex - 1))) {
+            return mSource.charAt(sourceIndex - 1);
+        }
+        if (Character.isHighSurrogate(c) && sourceIndex < length - 1 && Character.isLowSurrogate(mSource.charAt(sourceIndex + 1))) {
+            return mSource.charAt(sourceIndex + 1);
+        }
+        return c;
+    }
+
+    /**
+     * Copies only the requested range, so the cost is O(end - start) rather than the whole view
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        int length = length();
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+        }
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = charAt(start + i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Materializes the view on the first call and returns the cached string afterwards
+     */
+    @Override
+    public String toString() {
+        if (mString == null) {
+            char[] chars = new char[mSource.length()];
+            new StringReverser().reverse(mSource, chars, 0);
+            mString = new String(chars);
+        }
+        return mString;
+    }
+}
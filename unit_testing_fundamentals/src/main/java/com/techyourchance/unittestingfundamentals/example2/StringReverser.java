@@ -1,12 +1,183 @@
 package com.techyourchance.unittestingfundamentals.example2;
 
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.text.BreakIterator;
+import java.text.StringCharacterIterator;
+
 public class StringReverser {
 
+    // chars below combining diacritical marks never join with neighbours, except '\r' of "\r\n"
+    private static final char SINGLE_CHAR_CLUSTER_LIMIT = '\u0300';
+
+    // bit c is set if char c may join with its neighbours, see mayJoinNeighbours()
+    private static final long[] MAY_JOIN_NEIGHBOURS = new long[(Character.MAX_VALUE + 1) >>> 6];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (mayJoinNeighbours((char) c)) {
+                MAY_JOIN_NEIGHBOURS[c >>> 6] |= 1L << c;
+            }
+        }
+    }
+
+    /**
+     * Reverses the order of user-perceived characters as defined by
+     * {@link BreakIterator#getCharacterInstance()}, so surrogate pairs and base characters with
+     * their combining marks stay intact. Chars that can't join with their neighbours, which is
+     * most of every script without combining marks, are reversed one by one; only the rest of the
+     * string from the first char that may join goes through the break iterator.
+     */
     public String reverse(String string) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = string.length() - 1; i >= 0; i--) {
-            sb.append(string.charAt(i));
+        int length = string.length();
+        char[] reversed = new char[length];
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (mayJoin(c)) {
+                // the char before may be the base of this one
+                int from = Math.max(i - 1, 0);
+                reverseClusters(string, from, reversed);
+                return new String(reversed);
+            }
+            reversed[length - 1 - i] = c;
+        }
+        return new String(reversed);
+    }
+
+    /**
+     * Appends the same result as {@link #reverse(String)} to the destination, which must not be
+     * the source. Allocates only if the source contains chars that may join with their neighbours.
+     */
+    public void reverse(CharSequence source, StringBuilder destination) {
+        int length = source.length();
+        int singleCharsEnd = length;
+        for (int i = 0; i < length; i++) {
+            if (mayJoin(source.charAt(i))) {
+                // the char before may be the base of this one
+                singleCharsEnd = Math.max(i - 1, 0);
+                break;
+            }
+        }
+        destination.ensureCapacity(destination.length() + length);
+        if (singleCharsEnd < length) {
+            String string = source.toString();
+            BreakIterator clusters = BreakIterator.getCharacterInstance();
+            clusters.setText(new StringCharacterIterator(string, singleCharsEnd, length, singleCharsEnd));
+            int end = clusters.last();
+            for (int start = clusters.previous(); start != BreakIterator.DONE; start = clusters.previous()) {
+                destination.append(string, start, end);
+                end = start;
+            }
+        }
+        for (int i = singleCharsEnd - 1; i >= 0; i--) {
+            destination.append(source.charAt(i));
+        }
+    }
+
+    /**
+     * Writes the source reversed into destination[offset, offset + source.length()) without
+     * allocating. Surrogate pairs are kept in order, combining marks are not kept with their base
+     * characters.
+     */
+    public void reverse(CharSequence source, char[] destination, int offset) {
+        int length = source.length();
+        if (offset < 0 || offset > destination.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+        }
+        int last = offset + length - 1;
+        for (int i = 0; i < length; i++) {
+            destination[last - i] = source.charAt(i);
+        }
+        // reversing swapped the halves of every surrogate pair, swap them back
+        for (int i = offset; i < last; i++) {
+            if (Character.isLowSurrogate(destination[i]) && Character.isHighSurrogate(destination[i + 1])) {
+                char low = destination[i];
+                destination[i] = destination[i + 1];
+                destination[++i] = low;
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #reverse(CharSequence, char[], int)}, writing at the buffer's position and
+     * advancing it
+     * @throws BufferOverflowException if the buffer has less than source.length() chars remaining
+     */
+    public void reverse(CharSequence source, CharBuffer destination) {
+        int length = source.length();
+        if (destination.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (destination.hasArray()) {
+            reverse(source, destination.array(), destination.arrayOffset() + destination.position());
+            destination.position(destination.position() + length);
+            return;
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            char c = source.charAt(i);
+            if (i > 0 && Character.isLowSurrogate(c) && Character.isHighSurrogate(source.charAt(i - 1))) {
+                destination.put(source.charAt(--i));
+            }
+            destination.put(c);
+        }
+    }
+
+    /**
+     * Reverses Latin-1 or ASCII text stored one char per byte, without decoding it to chars.
+     * The source and destination ranges must not overlap.
+     */
+    public void reverseLatin1(byte[] source, int offset, int length, byte[] destination, int destinationOffset) {
+        if (offset < 0 || length < 0 || offset > source.length - length
+                || destinationOffset < 0 || destinationOffset > destination.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length
+                    + ", destination offset: " + destinationOffset);
+        }
+        int last = offset + length - 1;
+        for (int i = 0; i < length; i++) {
+            destination[destinationOffset + i] = source[last - i];
+        }
+    }
+
+    /**
+     * Writes the clusters of string[from, length) in reverse order to the start of reversed
+     */
+    private void reverseClusters(String string, int from, char[] reversed) {
+        BreakIterator clusters = BreakIterator.getCharacterInstance();
+        clusters.setText(new StringCharacterIterator(string, from, string.length(), from));
+        int position = 0;
+        int end = clusters.last();
+        for (int start = clusters.previous(); start != BreakIterator.DONE; start = clusters.previous()) {
+            string.getChars(start, end, reversed, position);
+            position += end - start;
+            end = start;
+        }
+    }
+
+    private static boolean mayJoin(char c) {
+        return (MAY_JOIN_NEIGHBOURS[c >>> 6] & (1L << c)) != 0;
+    }
+
+    /**
+     * @return false for chars that form a user-perceived character on their own whatever their
+     *         neighbours are; true for '\r', surrogates, combining and spacing marks (variation
+     *         selectors included), format chars such as ZWJ, Hangul jamo, Thai and Lao AM and the
+     *         halfwidth katakana sound marks
+     */
+    private static boolean mayJoinNeighbours(char c) {
+        if (c < SINGLE_CHAR_CLUSTER_LIMIT) {
+            return c == '\r';
+        }
+        switch (Character.getType(c)) {
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.FORMAT:
+            case Character.SURROGATE:
+                return true;
+            default:
+                return (c >= '\u1100' && c <= '\u11FF') || (c >= '\uA960' && c <= '\uA97F')
+                        || (c >= '\uD7B0' && c <= '\uD7FF') || c == '\u0D4E' || c == '\u0E33' || c == '\u0EB3'
+                        || c == '\uFF9E' || c == '\uFF9F';
         }
-        return sb.toString();
     }
 }
@@ -0,0 +1,142 @@
+package com.techyourchance.unittestingfundamentals.example2;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Reverses the code points of UTF-8 files of any size in constant memory.
+ * <p>
+ * The input is read one chunk at a time into a fixed buffer, starting from its end. Every chunk
+ * start is moved forward past continuation bytes (10xxxxxx), so a multi-byte sequence that
+ * straddles the boundary is left whole to the preceding chunk. Within a chunk, runs of ASCII bytes
+ * are reversed in a tight array loop and multi-byte sequences are copied whole, in reverse order,
+ * into a second buffer of the same size, which is then written to the output sequentially. Bytes
+ * that don't form well-formed sequences are copied one by one. Unlike
+ * {@link StringReverser#reverse(String)}, combining marks aren't kept with their base characters.
+ */
+public class Utf8FileReverser {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final int MAX_SEQUENCE_LENGTH = 4;
+
+    private final int mChunkSize;
+
+    public Utf8FileReverser() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize max number of input bytes read at a time; the input and the output buffer
+     *                  both have this size
+     */
+    public Utf8FileReverser(int chunkSize) {
+        if (chunkSize < MAX_SEQUENCE_LENGTH) {
+            throw new IllegalArgumentException("chunk size must be at least " + MAX_SEQUENCE_LENGTH);
+        }
+        mChunkSize = chunkSize;
+    }
+
+    public void reverse(File input, File output) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(output)) {
+            reverse(input, out.getChannel());
+        }
+    }
+
+    /**
+     * Writes the reversed input to the channel, which is left open
+     */
+    public void reverse(File input, WritableByteChannel output) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(input, "r")) {
+            FileChannel channel = file.getChannel();
+            byte[] chunk = new byte[(int) Math.min(mChunkSize, channel.size())];
+            byte[] reversed = new byte[chunk.length];
+            long chunkEnd = channel.size();
+            while (chunkEnd > 0) {
+                long chunkStart = Math.max(0, chunkEnd - mChunkSize);
+                int length = (int) (chunkEnd - chunkStart);
+                read(channel, chunkStart, chunk, length);
+                int from = 0;
+                if (chunkStart > 0) {
+                    while (from < MAX_SEQUENCE_LENGTH - 1 && isContinuation(chunk[from])) {
+                        from++;
+                    }
+                }
+                int reversedLength = reverseChunk(chunk, from, length, reversed);
+                drain(output, ByteBuffer.wrap(reversed, 0, reversedLength));
+                chunkEnd = chunkStart + from;
+            }
+        }
+    }
+
+    private void read(FileChannel channel, long position, byte[] chunk, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("input file truncated while reading");
+            }
+        }
+    }
+
+    /**
+     * Writes chunk[from, end) with its sequences in reverse order to the start of reversed
+     * @return number of bytes written
+     */
+    private int reverseChunk(byte[] chunk, int from, int end, byte[] reversed) {
+        int out = 0;
+        while (end > from) {
+            // ASCII bytes are sequences of their own
+            int i = end - 1;
+            while (i >= from && chunk[i] >= 0) {
+                reversed[out++] = chunk[i--];
+            }
+            end = i + 1;
+            if (end == from) {
+                break;
+            }
+            int start = end - 1;
+            int lowest = Math.max(from, end - MAX_SEQUENCE_LENGTH);
+            while (start > lowest && isContinuation(chunk[start])) {
+                start--;
+            }
+            if (sequenceLength(chunk[start]) != end - start) {
+                start = end - 1; // not a well-formed sequence, copy the last byte alone
+            }
+            System.arraycopy(chunk, start, reversed, out, end - start);
+            out += end - start;
+            end = start;
+        }
+        return out;
+    }
+
+    private void drain(WritableByteChannel output, ByteBuffer out) throws IOException {
+        while (out.hasRemaining()) {
+            output.write(out);
+        }
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    /**
+     * @return length of the sequence that the byte leads, or 0 if it can't lead one
+     */
+    private static int sequenceLength(byte lead) {
+        if ((lead & 0x80) == 0) {
+            return 1;
+        } else if ((lead & 0xE0) == 0xC0) {
+            return 2;
+        } else if ((lead & 0xF0) == 0xE0) {
+            return 3;
+        } else if ((lead & 0xF8) == 0xF0) {
+            return 4;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+/**
+ * Classifies pairs of intervals into the 13 relations of Allen's interval algebra, with the same
+ * half-open semantics as {@link IntervalsOverlapDetector}: [0, 5) meets [5, 8) and doesn't overlap it.
+ * <p>
+ * The relation of interval1 to interval2 is fully determined by the signs of start1 - start2,
+ * end1 - end2, start1 - end2 and end1 - start2. Every sign is computed from the sign bits of widened
+ * differences and the four signs index a precomputed table, so classification doesn't branch on the
+ * coordinates and batch loops run at memory bandwidth.
+ * <p>
+ * Relation codes are ordered by where interval1 lies relative to interval2, so that the
+ * overlapping relations are exactly the codes between {@link #MEETS} and {@link #MET_BY}, exclusive,
+ * and the inverse of relation r is 12 - r.
+ */
+public class AllenRelationClassifier {
+
+    public static final byte BEFORE = 0;
+    public static final byte MEETS = 1;
+    public static final byte OVERLAPS = 2;
+    public static final byte FINISHED_BY = 3;
+    public static final byte CONTAINS = 4;
+    public static final byte STARTS = 5;
+    public static final byte EQUALS = 6;
+    public static final byte STARTED_BY = 7;
+    public static final byte DURING = 8;
+    public static final byte FINISHES = 9;
+    public static final byte OVERLAPPED_BY = 10;
+    public static final byte MET_BY = 11;
+    public static final byte AFTER = 12;
+
+    private static final byte[] RELATIONS = buildRelations();
+
+    public byte classify(Interval interval1, Interval interval2) {
+        return classify(interval1.getStart(), interval1.getEnd(), interval2.getStart(), interval2.getEnd());
+    }
+
+    /**
+     * @return relation of [start1, end1) to [start2, end2); both must be valid intervals
+     */
+    public byte classify(int start1, int end1, int start2, int end2) {
+        return RELATIONS[27 * sign(start1, start2) + 9 * sign(end1, end2) + 3 * sign(start1, end2) + sign(end1, start2) + 40];
+    }
+
+    /**
+     * Classifies the i-th interval of the first array against the i-th interval of the second one
+     * @param relations receives the relation of the i-th pair at index i
+     */
+    public void classify(IntervalArray intervals1, IntervalArray intervals2, byte[] relations) {
+        if (intervals1.size() != intervals2.size()) {
+            throw new IllegalArgumentException("arrays sizes differ");
+        }
+        for (int i = 0; i < intervals1.size(); i++) {
+            relations[i] = classify(intervals1.getStart(i), intervals1.getEnd(i), intervals2.getStart(i), intervals2.getEnd(i));
+        }
+    }
+
+    /**
+     * Classifies [starts1[i], ends1[i]) against [starts2[i], ends2[i]) for i in [from, to)
+     * @param relations receives the relation of the i-th pair at index (i - from)
+     */
+    public void classify(int[] starts1, int[] ends1, int[] starts2, int[] ends2, int from, int to, byte[] relations) {
+        for (int i = from; i < to; i++) {
+            relations[i - from] = classify(starts1[i], ends1[i], starts2[i], ends2[i]);
+        }
+    }
+
+    /**
+     * @return -1, 0 or 1 if a is smaller than, equal to or greater than b
+     */
+    private static int sign(int a, int b) {
+        return (int) (((long) b - a) >>> 63) - (int) (((long) a - b) >>> 63);
+    }
+
+    /**
+     * Table indexed by 27 * (s1 ? s2) + 9 * (e1 ? e2) + 3 * (s1 ? e2) + (e1 ? s2) + 40, where every
+     * "?" is the sign of the difference. Sign combinations that valid intervals can't produce map to
+     * arbitrary relations.
+     */
+    private static byte[] buildRelations() {
+        byte[] relations = new byte[81];
+        for (int startStart = -1; startStart <= 1; startStart++) {
+            for (int endEnd = -1; endEnd <= 1; endEnd++) {
+                for (int startEnd = -1; startEnd <= 1; startEnd++) {
+                    for (int endStart = -1; endStart <= 1; endStart++) {
+                        relations[27 * startStart + 9 * endEnd + 3 * startEnd + endStart + 40] =
+                                relation(startStart, endEnd, startEnd, endStart);
+                    }
+                }
+            }
+        }
+        return relations;
+    }
+
+    private static byte relation(int startStart, int endEnd, int startEnd, int endStart) {
+        if (endStart < 0) {
+            return BEFORE;
+        } else if (endStart == 0) {
+            return MEETS;
+        } else if (startEnd > 0) {
+            return AFTER;
+        } else if (startEnd == 0) {
+            return MET_BY;
+        } else if (startStart < 0) {
+            return endEnd < 0 ? OVERLAPS : endEnd == 0 ? FINISHED_BY : CONTAINS;
+        } else if (startStart == 0) {
+            return endEnd < 0 ? STARTS : endEnd == 0 ? EQUALS : STARTED_BY;
+        } else {
+            return endEnd < 0 ? DURING : endEnd == 0 ? FINISHES : OVERLAPPED_BY;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+/**
+ * Generalization of {@link Interval} to k dimensions: the product of one half-open range
+ * [min, max) per axis.
+ */
+public class Box {
+
+    private final int[] mMins;
+    private final int[] mMaxs;
+
+    public Box(int[] mins, int[] maxs) {
+        if (mins.length == 0 || mins.length != maxs.length) {
+            throw new IllegalArgumentException("invalid box dimensions");
+        }
+        for (int axis = 0; axis < mins.length; axis++) {
+            if (mins[axis] >= maxs[axis]) {
+                throw new IllegalArgumentException("invalid interval range");
+            }
+        }
+        mMins = mins.clone();
+        mMaxs = maxs.clone();
+    }
+
+    /**
+     * @param axes range of the box along each axis
+     */
+    public Box(Interval... axes) {
+        if (axes.length == 0) {
+            throw new IllegalArgumentException("invalid box dimensions");
+        }
+        mMins = new int[axes.length];
+        mMaxs = new int[axes.length];
+        for (int axis = 0; axis < axes.length; axis++) {
+            mMins[axis] = axes[axis].getStart();
+            mMaxs[axis] = axes[axis].getEnd();
+        }
+    }
+
+    public int getDimensions() {
+        return mMins.length;
+    }
+
+    public int getMin(int axis) {
+        return mMins[axis];
+    }
+
+    public int getMax(int axis) {
+        return mMaxs[axis];
+    }
+
+    public Interval getInterval(int axis) {
+        return new Interval(mMins[axis], mMaxs[axis]);
+    }
+}
@@ -0,0 +1,257 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Static R-tree over {@link Box}es, bulk-loaded with Sort-Tile-Recursive packing: the entries of
+ * every level are sorted by center along the first axis, cut into vertical slabs, each slab is
+ * recursively tiled along the remaining axes, and consecutive runs of NODE_CAPACITY entries become
+ * the nodes of the next level. This produces full nodes with little overlap between siblings.
+ * <p>
+ * Nodes are stored in flat arrays. Overlap follows {@link BoxesOverlapDetector} semantics, i.e.
+ * {@link IntervalsOverlapDetector} semantics along every axis.
+ */
+public class BoxRTree {
+
+    private static final int NODE_CAPACITY = 16;
+    private static final int NO_NODE = -1;
+
+    private final BoxesOverlapDetector mBoxesOverlapDetector = new BoxesOverlapDetector();
+    private final IntervalsOverlapDetector mIntervalsOverlapDetector = new IntervalsOverlapDetector();
+
+    private final Box[] mBoxes;
+    private final int mDimensions;
+
+    // bounding box of node n along axis a is [mNodeMins[n * mDimensions + a], mNodeMaxs[...])
+    private final int[] mNodeMins;
+    private final int[] mNodeMaxs;
+    private final int[] mNodeFirstChild;
+    private final int[] mNodeChildCount;
+    private final boolean[] mNodeIsLeaf;
+    // children of all nodes: box indices for leaves, node indices otherwise
+    private final int[] mChildren;
+    private int mNodeCount;
+    private int mChildCount;
+    private final int mRoot;
+
+    public BoxRTree(Collection<Box> boxes) {
+        mBoxes = boxes.toArray(new Box[boxes.size()]);
+        mDimensions = mBoxes.length == 0 ? 0 : mBoxes[0].getDimensions();
+
+        int nodes = 0;
+        int count = mBoxes.length;
+        while (count > 1 || (count == 1 && nodes == 0)) {
+            count = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            nodes += count;
+        }
+        mNodeMins = new int[nodes * mDimensions];
+        mNodeMaxs = new int[nodes * mDimensions];
+        mNodeFirstChild = new int[nodes];
+        mNodeChildCount = new int[nodes];
+        mNodeIsLeaf = new boolean[nodes];
+        mChildren = new int[Math.max(0, mBoxes.length + nodes - 1)];
+        mRoot = mBoxes.length == 0 ? NO_NODE : build();
+    }
+
+    public int size() {
+        return mBoxes.length;
+    }
+
+    /**
+     * @return stored boxes that overlap the window
+     */
+    public List<Box> findOverlapping(Box window) {
+        checkDimensions(window);
+        List<Box> result = new ArrayList<>();
+        if (mRoot != NO_NODE && isNodeOverlapping(mRoot, window)) {
+            findOverlapping(mRoot, window, result);
+        }
+        return result;
+    }
+
+    /**
+     * Best-first search: nodes and boxes are visited in order of their distance to the query, so
+     * only the nodes closer than the count-th nearest box are expanded.
+     * @return up to count stored boxes nearest to the query, ordered by distance
+     */
+    public List<Box> findNearest(Box query, int count) {
+        checkDimensions(query);
+        List<Box> result = new ArrayList<>();
+        if (mRoot == NO_NODE || count <= 0) {
+            return result;
+        }
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(64, new Comparator<Candidate>() {
+            @Override
+            public int compare(Candidate candidate1, Candidate candidate2) {
+                return Double.compare(candidate1.mDistance, candidate2.mDistance);
+            }
+        });
+        candidates.add(new Candidate(nodeDistanceSquared(mRoot, query), mRoot, false));
+        while (!candidates.isEmpty() && result.size() < count) {
+            Candidate candidate = candidates.poll();
+            if (candidate.mIsBox) {
+                result.add(mBoxes[candidate.mIndex]);
+                continue;
+            }
+            int node = candidate.mIndex;
+            for (int i = mNodeFirstChild[node]; i < mNodeFirstChild[node] + mNodeChildCount[node]; i++) {
+                int child = mChildren[i];
+                if (mNodeIsLeaf[node]) {
+                    candidates.add(new Candidate(mBoxesOverlapDetector.distanceSquared(mBoxes[child], query), child, true));
+                } else {
+                    candidates.add(new Candidate(nodeDistanceSquared(child, query), child, false));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void findOverlapping(int node, Box window, List<Box> result) {
+        for (int i = mNodeFirstChild[node]; i < mNodeFirstChild[node] + mNodeChildCount[node]; i++) {
+            int child = mChildren[i];
+            if (mNodeIsLeaf[node]) {
+                if (mBoxesOverlapDetector.isOverlap(mBoxes[child], window)) {
+                    result.add(mBoxes[child]);
+                }
+            } else if (isNodeOverlapping(child, window)) {
+                findOverlapping(child, window, result);
+            }
+        }
+    }
+
+    private boolean isNodeOverlapping(int node, Box window) {
+        for (int axis = 0; axis < mDimensions; axis++) {
+            int index = node * mDimensions + axis;
+            if (!mIntervalsOverlapDetector.isOverlap(mNodeMins[index], mNodeMaxs[index], window.getMin(axis), window.getMax(axis))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double nodeDistanceSquared(int node, Box query) {
+        double distance = 0;
+        for (int axis = 0; axis < mDimensions; axis++) {
+            int index = node * mDimensions + axis;
+            long gap = Math.max(0, Math.max((long) query.getMin(axis) - mNodeMaxs[index], (long) mNodeMins[index] - query.getMax(axis)));
+            distance += (double) gap * gap;
+        }
+        return distance;
+    }
+
+    /**
+     * Packs the tree level by level from the boxes up
+     * @return root node
+     */
+    private int build() {
+        int count = mBoxes.length;
+        int[] ids = new int[count];
+        int[] mins = new int[count * mDimensions];
+        int[] maxs = new int[count * mDimensions];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+            if (mBoxes[i].getDimensions() != mDimensions) {
+                throw new IllegalArgumentException("boxes dimensions differ");
+            }
+            for (int axis = 0; axis < mDimensions; axis++) {
+                mins[i * mDimensions + axis] = mBoxes[i].getMin(axis);
+                maxs[i * mDimensions + axis] = mBoxes[i].getMax(axis);
+            }
+        }
+
+        boolean isLeafLevel = true;
+        while (true) {
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            tile(order, 0, count, 0, mins, maxs);
+
+            int firstNode = mNodeCount;
+            int levelNodes = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            for (int i = 0; i < count; i += NODE_CAPACITY) {
+                int node = mNodeCount++;
+                mNodeIsLeaf[node] = isLeafLevel;
+                mNodeFirstChild[node] = mChildCount;
+                mNodeChildCount[node] = Math.min(NODE_CAPACITY, count - i);
+                Arrays.fill(mNodeMins, node * mDimensions, (node + 1) * mDimensions, Integer.MAX_VALUE);
+                Arrays.fill(mNodeMaxs, node * mDimensions, (node + 1) * mDimensions, Integer.MIN_VALUE);
+                for (int j = i; j < i + mNodeChildCount[node]; j++) {
+                    int item = order[j];
+                    mChildren[mChildCount++] = ids[item];
+                    for (int axis = 0; axis < mDimensions; axis++) {
+                        int index = node * mDimensions + axis;
+                        mNodeMins[index] = Math.min(mNodeMins[index], mins[item * mDimensions + axis]);
+                        mNodeMaxs[index] = Math.max(mNodeMaxs[index], maxs[item * mDimensions + axis]);
+                    }
+                }
+            }
+            if (levelNodes == 1) {
+                return firstNode;
+            }
+
+            count = levelNodes;
+            ids = new int[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = firstNode + i;
+            }
+            mins = Arrays.copyOfRange(mNodeMins, firstNode * mDimensions, (firstNode + count) * mDimensions);
+            maxs = Arrays.copyOfRange(mNodeMaxs, firstNode * mDimensions, (firstNode + count) * mDimensions);
+            isLeafLevel = false;
+        }
+    }
+
+    /**
+     * Sorts order[from, to) by center along the axis, then recursively tiles each slab along the
+     * next axis
+     */
+    private void tile(int[] order, int from, int to, int axis, int[] mins, int[] maxs) {
+        sortByCenter(order, from, to, axis, mins, maxs);
+        if (axis == mDimensions - 1) {
+            return;
+        }
+        int pages = (to - from + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slabs = (int) Math.ceil(Math.pow(pages, 1.0 / (mDimensions - axis)));
+        int slabSize = NODE_CAPACITY * ((pages + slabs - 1) / slabs);
+        for (int slabFrom = from; slabFrom < to; slabFrom += slabSize) {
+            tile(order, slabFrom, Math.min(to, slabFrom + slabSize), axis + 1, mins, maxs);
+        }
+    }
+
+    private void sortByCenter(int[] order, int from, int to, int axis, int[] mins, int[] maxs) {
+        // doubled center takes 33 bits, the item takes the low 31
+        long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            int index = order[i] * mDimensions + axis;
+            keys[i - from] = (((long) mins[index] + maxs[index]) << 31) | order[i];
+        }
+        Arrays.sort(keys);
+        for (int i = from; i < to; i++) {
+            order[i] = (int) (keys[i - from] & Integer.MAX_VALUE);
+        }
+    }
+
+    private void checkDimensions(Box box) {
+        if (mDimensions != 0 && box.getDimensions() != mDimensions) {
+            throw new IllegalArgumentException("boxes dimensions differ");
+        }
+    }
+
+    private static class Candidate {
+
+        private final double mDistance;
+        private final int mIndex;
+        private final boolean mIsBox;
+
+        Candidate(double distance, int index, boolean isBox) {
+            mDistance = distance;
+            mIndex = index;
+            mIsBox = isBox;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+public class BoxesOverlapDetector {
+
+    private final IntervalsOverlapDetector mIntervalsOverlapDetector = new IntervalsOverlapDetector();
+
+    /**
+     * @return true if the boxes overlap along every axis per {@link IntervalsOverlapDetector}
+     */
+    public boolean isOverlap(Box box1, Box box2) {
+        checkDimensions(box1, box2);
+        for (int axis = 0; axis < box1.getDimensions(); axis++) {
+            if (!mIntervalsOverlapDetector.isOverlap(box1.getMin(axis), box1.getMax(axis), box2.getMin(axis), box2.getMax(axis))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return squared Euclidean distance between the closest points of the boxes; zero if the
+     *         boxes overlap or touch
+     */
+    public double distanceSquared(Box box1, Box box2) {
+        checkDimensions(box1, box2);
+        double distance = 0;
+        for (int axis = 0; axis < box1.getDimensions(); axis++) {
+            long gap = Math.max(0, Math.max((long) box2.getMin(axis) - box1.getMax(axis), (long) box1.getMin(axis) - box2.getMax(axis)));
+            distance += (double) gap * gap;
+        }
+        return distance;
+    }
+
+    private void checkDimensions(Box box1, Box box2) {
+        if (box1.getDimensions() != box2.getDimensions()) {
+            throw new IllegalArgumentException("boxes dimensions differ");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe set of mutually non-overlapping intervals for reservation workloads.
+ * Intervals are kept in a {@link ConcurrentSkipListMap} keyed by start, so reads never lock.
+ * Writes lock only the stripes that cover the coordinates they touch: the number line is cut into
+ * buckets of fixed width and each bucket maps to one of the stripes. Two overlapping intervals
+ * share at least one point, hence at least one bucket and one stripe, so conflicting writes are
+ * serialized while writes to distant parts of the timeline proceed in parallel.
+ * Overlap follows {@link IntervalsOverlapDetector} semantics, so adjacent intervals may coexist.
+ */
+public class ConcurrentIntervalSet {
+
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int DEFAULT_BUCKET_WIDTH_SHIFT = 10;
+
+    private final ConcurrentSkipListMap<Integer, Interval> mIntervals = new ConcurrentSkipListMap<>();
+    private final ReentrantLock[] mStripes;
+    private final int mBucketWidthShift;
+
+    public ConcurrentIntervalSet() {
+        this(DEFAULT_STRIPES, DEFAULT_BUCKET_WIDTH_SHIFT);
+    }
+
+    /**
+     * @param stripes number of write locks; must be a power of two
+     * @param bucketWidthShift log2 of the width of the coordinate range guarded by one bucket
+     */
+    public ConcurrentIntervalSet(int stripes, int bucketWidthShift) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a power of two");
+        }
+        if (bucketWidthShift < 0 || bucketWidthShift > 31) {
+            throw new IllegalArgumentException("invalid bucket width shift");
+        }
+        mStripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            mStripes[i] = new ReentrantLock();
+        }
+        mBucketWidthShift = bucketWidthShift;
+    }
+
+    /**
+     * Atomically checks that the interval doesn't overlap any interval in the set and adds it
+     * @return true if the interval was added
+     */
+    public boolean insertIfNoOverlap(Interval interval) {
+        lockStripes(interval);
+        try {
+            if (isOverlapping(interval)) {
+                return false;
+            }
+            mIntervals.put(interval.getStart(), interval);
+            return true;
+        } finally {
+            unlockStripes(interval);
+        }
+    }
+
+    /**
+     * Removes the interval with the same bounds as the argument
+     * @return true if such interval was in the set
+     */
+    public boolean remove(Interval interval) {
+        lockStripes(interval);
+        try {
+            Interval stored = mIntervals.get(interval.getStart());
+            if (stored == null || stored.getEnd() != interval.getEnd()) {
+                return false;
+            }
+            mIntervals.remove(interval.getStart());
+            return true;
+        } finally {
+            unlockStripes(interval);
+        }
+    }
+
+    /**
+     * Lock-free. Since stored intervals don't overlap, only the last one starting before the
+     * argument ends can overlap it.
+     */
+    public boolean isOverlapping(Interval interval) {
+        Map.Entry<Integer, Interval> candidate = mIntervals.lowerEntry(interval.getEnd());
+        return candidate != null && candidate.getValue().getEnd() > interval.getStart();
+    }
+
+    /**
+     * Lock-free and weakly consistent: reflects some, but not necessarily all, of the writes that
+     * run concurrently with it.
+     * @return stored intervals that overlap the argument, ordered by start
+     */
+    public List<Interval> findOverlapping(Interval interval) {
+        Integer from = mIntervals.floorKey(interval.getStart());
+        ConcurrentNavigableMap<Integer, Interval> candidates = from == null
+                ? mIntervals.headMap(interval.getEnd())
+                : mIntervals.subMap(from, interval.getEnd());
+        List<Interval> result = new ArrayList<>();
+        for (Interval candidate : candidates.values()) {
+            if (candidate.getEnd() > interval.getStart()) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return snapshot of the stored intervals ordered by start
+     */
+    public List<Interval> toList() {
+        return new ArrayList<>(mIntervals.values());
+    }
+
+    /**
+     * Locks the stripes of all buckets the interval touches, always in ascending stripe order so
+     * that concurrent writers can't deadlock. Consecutive buckets map to consecutive stripes, so the
+     * locked stripes are one range that may wrap around past the last stripe.
+     */
+    private void lockStripes(Interval interval) {
+        int first = firstStripe(interval);
+        int last = first + stripeCount(interval);
+        for (int i = mStripes.length; i < last; i++) {
+            mStripes[i - mStripes.length].lock();
+        }
+        for (int i = first; i < last && i < mStripes.length; i++) {
+            mStripes[i].lock();
+        }
+    }
+
+    private void unlockStripes(Interval interval) {
+        int first = firstStripe(interval);
+        int last = first + stripeCount(interval);
+        for (int i = Math.min(last, mStripes.length) - 1; i >= first; i--) {
+            mStripes[i].unlock();
+        }
+        for (int i = last - 1; i >= mStripes.length; i--) {
+            mStripes[i - mStripes.length].unlock();
+        }
+    }
+
+    private int firstStripe(Interval interval) {
+        if (stripeCount(interval) == mStripes.length) {
+            return 0;
+        }
+        return (interval.getStart() >> mBucketWidthShift) & (mStripes.length - 1);
+    }
+
+    private int stripeCount(Interval interval) {
+        long firstBucket = interval.getStart() >> mBucketWidthShift;
+        long lastBucket = (interval.getEnd() - 1) >> mBucketWidthShift;
+        return (int) Math.min(lastBucket - firstBucket + 1, mStripes.length);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,275 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Index of the free gaps between busy intervals over the whole int domain, answering "where does
+ * a slot of length d fit" without overlap checks against the busy intervals.
+ * <p>
+ * Busy intervals are kept coalesced, so the gaps between them are disjoint and non-empty. The gaps
+ * are stored in a treap keyed by start where every node also keeps the max gap length of its
+ * subtree, which bounds first-fit searches to one root-to-leaf path, and in a set ordered by
+ * (length, start) for best-fit searches. Inserting a busy interval only touches the gaps it covers.
+ * Free slots follow {@link IntervalsOverlapDetector} semantics, so a slot may be adjacent to busy
+ * intervals.
+ */
+public class FreeSlotFinder {
+
+    private final Random mRandom = new Random();
+
+    private final TreeSet<Gap> mGapsByLength = new TreeSet<>(new Comparator<Gap>() {
+        @Override
+        public int compare(Gap gap1, Gap gap2) {
+            int result = Long.compare(gap1.length(), gap2.length());
+            return result != 0 ? result : Integer.compare(gap1.mStart, gap2.mStart);
+        }
+    });
+
+    private Gap mRoot;
+
+    public FreeSlotFinder() {
+        addGap(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Sorts and coalesces the busy intervals once and builds the gaps between them
+     */
+    public FreeSlotFinder(Collection<Interval> busyIntervals) {
+        long[] keys = new long[busyIntervals.size()];
+        int i = 0;
+        for (Interval interval : busyIntervals) {
+            keys[i++] = ((long) interval.getStart() << 32) | ((interval.getEnd() ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(keys);
+
+        final int[] gapStart = {Integer.MIN_VALUE};
+        StreamingIntervalsCoalescer coalescer = new StreamingIntervalsCoalescer(new IntervalBoundsListener() {
+            @Override
+            public void onInterval(int start, int end) {
+                if (gapStart[0] < start) {
+                    addGap(gapStart[0], start);
+                }
+                gapStart[0] = end;
+            }
+        });
+        for (long key : keys) {
+            coalescer.add((int) (key >> 32), (int) key ^ Integer.MIN_VALUE);
+        }
+        coalescer.flush();
+        if (gapStart[0] < Integer.MAX_VALUE) {
+            addGap(gapStart[0], Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Marks the interval busy, shrinking, splitting or removing the gaps it covers
+     */
+    public void insert(Interval busyInterval) {
+        int start = busyInterval.getStart();
+        int end = busyInterval.getEnd();
+        Gap gap = floor(start);
+        if (gap == null || gap.mEnd <= start) {
+            gap = higher(start);
+        }
+        while (gap != null && gap.mStart < end) {
+            Gap next = higher(gap.mStart);
+            removeGap(gap);
+            if (gap.mStart < start) {
+                addGap(gap.mStart, start);
+            }
+            if (end < gap.mEnd) {
+                addGap(end, gap.mEnd);
+            }
+            gap = next;
+        }
+    }
+
+    public int gapCount() {
+        return mGapsByLength.size();
+    }
+
+    /**
+     * O(log n) expected
+     * @return earliest free slot of the given length starting at or after time, or null if there's none
+     */
+    public Interval firstFit(int time, int length) {
+        checkLength(length);
+        Gap containing = floor(time);
+        if (containing != null && (long) containing.mEnd - time >= length) {
+            return new Interval(time, time + length);
+        }
+        Gap gap = firstFitAfter(mRoot, time, length);
+        return gap == null ? null : new Interval(gap.mStart, gap.mStart + length);
+    }
+
+    /**
+     * O(log n)
+     * @return free slot of the given length at the start of the shortest gap that fits it (earliest
+     *         one on ties), or null if there's none
+     */
+    public Interval bestFit(int length) {
+        checkLength(length);
+        Gap gap = mGapsByLength.ceiling(new Gap(Integer.MIN_VALUE, Integer.MIN_VALUE + length, 0));
+        return gap == null ? null : new Interval(gap.mStart, gap.mStart + length);
+    }
+
+    /**
+     * @return gap with the smallest start after time that is at least length long
+     */
+    private Gap firstFitAfter(Gap node, int time, int length) {
+        if (node == null || node.mMaxLength < length) {
+            return null;
+        }
+        if (node.mStart > time) {
+            Gap left = firstFitAfter(node.mLeft, time, length);
+            if (left != null) {
+                return left;
+            }
+            if (node.length() >= length) {
+                return node;
+            }
+        }
+        return firstFitAfter(node.mRight, time, length);
+    }
+
+    private Gap floor(int start) {
+        Gap result = null;
+        Gap node = mRoot;
+        while (node != null) {
+            if (node.mStart <= start) {
+                result = node;
+                node = node.mRight;
+            } else {
+                node = node.mLeft;
+            }
+        }
+        return result;
+    }
+
+    private Gap higher(int start) {
+        Gap result = null;
+        Gap node = mRoot;
+        while (node != null) {
+            if (node.mStart > start) {
+                result = node;
+                node = node.mLeft;
+            } else {
+                node = node.mRight;
+            }
+        }
+        return result;
+    }
+
+    private void addGap(int start, int end) {
+        Gap gap = new Gap(start, end, mRandom.nextInt());
+        mRoot = insert(mRoot, gap);
+        mGapsByLength.add(gap);
+    }
+
+    private void removeGap(Gap gap) {
+        mRoot = remove(mRoot, gap.mStart);
+        mGapsByLength.remove(gap);
+    }
+
+    private Gap insert(Gap node, Gap gap) {
+        if (node == null) {
+            return gap;
+        }
+        if (gap.mStart < node.mStart) {
+            node.mLeft = insert(node.mLeft, gap);
+            if (node.mLeft.mPriority > node.mPriority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.mRight = insert(node.mRight, gap);
+            if (node.mRight.mPriority > node.mPriority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Gap remove(Gap node, int start) {
+        if (node == null) {
+            return null;
+        }
+        if (start < node.mStart) {
+            node.mLeft = remove(node.mLeft, start);
+        } else if (start > node.mStart) {
+            node.mRight = remove(node.mRight, start);
+        } else if (node.mLeft == null) {
+            return node.mRight;
+        } else if (node.mRight == null) {
+            return node.mLeft;
+        } else if (node.mLeft.mPriority > node.mRight.mPriority) {
+            node = rotateRight(node);
+            node.mRight = remove(node.mRight, start);
+        } else {
+            node = rotateLeft(node);
+            node.mLeft = remove(node.mLeft, start);
+        }
+        node.update();
+        return node;
+    }
+
+    private Gap rotateRight(Gap node) {
+        Gap left = node.mLeft;
+        node.mLeft = left.mRight;
+        left.mRight = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private Gap rotateLeft(Gap node) {
+        Gap right = node.mRight;
+        node.mRight = right.mLeft;
+        right.mLeft = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private void checkLength(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be positive");
+        }
+    }
+
+    private static class Gap {
+
+        private final int mStart;
+        private final int mEnd;
+        private final int mPriority;
+
+        private Gap mLeft;
+        private Gap mRight;
+        private long mMaxLength;
+
+        Gap(int start, int end, int priority) {
+            mStart = start;
+            mEnd = end;
+            mPriority = priority;
+            mMaxLength = length();
+        }
+
+        long length() {
+            return (long) mEnd - mStart;
+        }
+
+        void update() {
+            mMaxLength = length();
+            if (mLeft != null) {
+                mMaxLength = Math.max(mMaxLength, mLeft.mMaxLength);
+            }
+            if (mRight != null) {
+                mMaxLength = Math.max(mMaxLength, mRight.mMaxLength);
+            }
+        }
+    }
+}
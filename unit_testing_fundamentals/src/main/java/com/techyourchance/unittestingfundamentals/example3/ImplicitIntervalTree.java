@@ -0,0 +1,83 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Augmented interval tree laid out implicitly over {@link SortedIntervals}, shared by
+ * {@link IntervalTree} and {@link LongIntervalTree}. Every range [lo, hi) of the sorted columns is
+ * a subtree rooted at its middle element, and each root also stores the max end of its subtree.
+ */
+class ImplicitIntervalTree<T> {
+
+    private final SortedIntervals<T> mSorted;
+
+    /**
+     * @param sorted columns created with max ends
+     */
+    ImplicitIntervalTree(SortedIntervals<T> sorted) {
+        mSorted = sorted;
+        buildMaxEnds(0, sorted.size());
+    }
+
+    int size() {
+        return mSorted.size();
+    }
+
+    List<T> findOverlapping(long start, long end) {
+        List<T> result = new ArrayList<>();
+        findOverlapping(start, end, 0, mSorted.size(), result);
+        return result;
+    }
+
+    boolean isOverlapping(long start, long end) {
+        return isOverlapping(start, end, 0, mSorted.size());
+    }
+
+    private long buildMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long maxEnd = Math.max(mSorted.end(mid), Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+        mSorted.setMaxEnd(mid, maxEnd);
+        return maxEnd;
+    }
+
+    private void findOverlapping(long start, long end, int lo, int hi, List<T> result) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (mSorted.maxEnd(mid) <= start) {
+                return; // nothing in this subtree ends after the query starts
+            }
+            findOverlapping(start, end, lo, mid, result);
+            if (mSorted.start(mid) >= end) {
+                return; // root and the whole right subtree start after the query ends
+            }
+            if (mSorted.end(mid) > start) {
+                result.add(mSorted.mIntervals[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private boolean isOverlapping(long start, long end, int lo, int hi) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (mSorted.maxEnd(mid) <= start) {
+                return false;
+            }
+            if (isOverlapping(start, end, lo, mid)) {
+                return true;
+            }
+            if (mSorted.start(mid) >= end) {
+                return false;
+            }
+            if (mSorted.end(mid) > start) {
+                return true;
+            }
+            lo = mid + 1;
+        }
+        return false;
+    }
+}
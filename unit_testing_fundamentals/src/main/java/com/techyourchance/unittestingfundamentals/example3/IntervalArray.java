@@ -0,0 +1,125 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Growable struct-of-arrays store of intervals. Keeps starts and ends in two primitive arrays
+ * instead of one {@link Interval} object per element and applies the same validation as the
+ * {@link Interval} constructor.
+ */
+public class IntervalArray {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] mStarts;
+    private int[] mEnds;
+    private int mSize;
+
+    public IntervalArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntervalArray(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("negative capacity");
+        }
+        mStarts = new int[capacity];
+        mEnds = new int[capacity];
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public int getStart(int index) {
+        IntervalColumns.checkIndex(index, mSize);
+        return mStarts[index];
+    }
+
+    public int getEnd(int index) {
+        IntervalColumns.checkIndex(index, mSize);
+        return mEnds[index];
+    }
+
+    /**
+     * @return a new {@link Interval} with the bounds of the element at the given index
+     */
+    public Interval get(int index) {
+        return new Interval(getStart(index), getEnd(index));
+    }
+
+    public void add(int start, int end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("invalid interval range");
+        }
+        ensureCapacity(mSize + 1);
+        mStarts[mSize] = start;
+        mEnds[mSize] = end;
+        mSize++;
+    }
+
+    public void add(Interval interval) {
+        add(interval.getStart(), interval.getEnd());
+    }
+
+    /**
+     * Appends length intervals taken from the given columns. All intervals are validated before
+     * anything is appended, so an invalid one leaves this array unchanged.
+     */
+    public void addAll(int[] starts, int[] ends, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (starts[i] >= ends[i]) {
+                throw new IllegalArgumentException("invalid interval range");
+            }
+        }
+        ensureCapacity(mSize + length);
+        System.arraycopy(starts, offset, mStarts, mSize, length);
+        System.arraycopy(ends, offset, mEnds, mSize, length);
+        mSize += length;
+    }
+
+    /**
+     * Appends the valid intervals taken from the given columns and skips the invalid ones instead
+     * of throwing, which suits dirty inputs where exceptions would dominate the cost.
+     * The loop has no data-dependent branches: every row is written to the next free slot and the
+     * slot is only claimed if the row is valid.
+     * @return rejected rows; bit i stands for row (offset + i) of the columns
+     */
+    public BitSet addAllValid(int[] starts, int[] ends, int offset, int length) {
+        ensureCapacity(mSize + length);
+        long[] rejected = new long[(length + 63) >>> 6];
+        int size = mSize;
+        for (int row = 0; row < length; row++) {
+            int start = starts[offset + row];
+            int end = ends[offset + row];
+            // sign bit of the widened difference is 1 exactly when start < end
+            int valid = (int) (((long) start - end) >>> 63);
+            mStarts[size] = start;
+            mEnds[size] = end;
+            size += valid;
+            rejected[row >>> 6] |= (long) (valid ^ 1) << row;
+        }
+        mSize = size;
+        return BitSet.valueOf(rejected);
+    }
+
+    public void addAll(IntervalArray intervals) {
+        ensureCapacity(mSize + intervals.mSize);
+        System.arraycopy(intervals.mStarts, 0, mStarts, mSize, intervals.mSize);
+        System.arraycopy(intervals.mEnds, 0, mEnds, mSize, intervals.mSize);
+        mSize += intervals.mSize;
+    }
+
+    public void clear() {
+        mSize = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        int newCapacity = IntervalColumns.newCapacity(mStarts.length, capacity);
+        if (newCapacity != mStarts.length) {
+            mStarts = Arrays.copyOf(mStarts, newCapacity);
+            mEnds = Arrays.copyOf(mEnds, newCapacity);
+        }
+    }
+}
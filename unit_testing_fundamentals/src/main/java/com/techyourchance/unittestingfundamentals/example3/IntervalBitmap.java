@@ -0,0 +1,308 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of integer points stored as a Roaring-style compressed bitmap, for intervals over
+ * dense bounded domains where overlap and union checks are cheaper as set operations than as
+ * pairwise {@link IntervalsOverlapDetector#isOverlap} calls.
+ * <p>
+ * The 32-bit domain is split by the high 16 bits into containers, which are kept sorted by key.
+ * Since the points always come from intervals, every container is a run container: a sorted list
+ * of disjoint, non-touching runs [start, end) over the low 16 bits. Values are mapped to unsigned
+ * order by flipping the sign bit, so negative points sort before positive ones.
+ */
+public class IntervalBitmap {
+
+    private static final int AND = 0;
+    private static final int OR = 1;
+    private static final int AND_NOT = 2;
+
+    private static final int CONTAINER_SHIFT = 16;
+    private static final int CONTAINER_SIZE = 1 << CONTAINER_SHIFT;
+
+    private final char[] mKeys;
+    // per container: start0, end0, start1, end1, ... of its runs, ends are exclusive
+    private final int[][] mRuns;
+
+    private IntervalBitmap(char[] keys, int[][] runs) {
+        mKeys = keys;
+        mRuns = runs;
+    }
+
+    /**
+     * @return bitmap containing every point covered by at least one of the intervals
+     */
+    public static IntervalBitmap of(Collection<Interval> intervals) {
+        long[] keys = new long[intervals.size()];
+        int i = 0;
+        for (Interval interval : intervals) {
+            keys[i++] = ((long) interval.getStart() << 32) | ((interval.getEnd() ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(keys);
+
+        final Builder builder = new Builder();
+        StreamingIntervalsCoalescer coalescer = new StreamingIntervalsCoalescer(new IntervalBoundsListener() {
+            @Override
+            public void onInterval(int start, int end) {
+                builder.appendRange(toUnsigned(start), toUnsigned(end));
+            }
+        });
+        for (long key : keys) {
+            coalescer.add((int) (key >> 32), (int) key ^ Integer.MIN_VALUE);
+        }
+        coalescer.flush();
+        return builder.build();
+    }
+
+    public IntervalBitmap and(IntervalBitmap other) {
+        return combine(other, AND);
+    }
+
+    public IntervalBitmap or(IntervalBitmap other) {
+        return combine(other, OR);
+    }
+
+    public IntervalBitmap andNot(IntervalBitmap other) {
+        return combine(other, AND_NOT);
+    }
+
+    /**
+     * Short-circuits on the first shared point; containers whose keys aren't shared are never read
+     * @return true if at least one point is in both bitmaps
+     */
+    public boolean intersects(IntervalBitmap other) {
+        int i = 0;
+        int j = 0;
+        while (i < mKeys.length && j < other.mKeys.length) {
+            if (mKeys[i] < other.mKeys[j]) {
+                i++;
+            } else if (mKeys[i] > other.mKeys[j]) {
+                j++;
+            } else if (runsIntersect(mRuns[i++], other.mRuns[j++])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(int value) {
+        long unsigned = toUnsigned(value);
+        int container = Arrays.binarySearch(mKeys, (char) (unsigned >>> CONTAINER_SHIFT));
+        if (container < 0) {
+            return false;
+        }
+        int low = (int) (unsigned & (CONTAINER_SIZE - 1));
+        int[] runs = mRuns[container];
+        int lo = 0;
+        int hi = runs.length / 2;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (runs[2 * mid + 1] <= low) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < runs.length / 2 && runs[2 * lo] <= low;
+    }
+
+    /**
+     * @return number of points in this bitmap
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int[] runs : mRuns) {
+            for (int r = 0; r < runs.length; r += 2) {
+                cardinality += runs[r + 1] - runs[r];
+            }
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return mKeys.length == 0;
+    }
+
+    /**
+     * @return minimal list of non-overlapping, non-adjacent intervals covering the same points,
+     *         ordered by start
+     */
+    public List<Interval> toIntervals() {
+        List<Interval> intervals = new ArrayList<>();
+        long pendingStart = -1;
+        long pendingEnd = -1;
+        for (int c = 0; c < mKeys.length; c++) {
+            long base = (long) mKeys[c] << CONTAINER_SHIFT;
+            int[] runs = mRuns[c];
+            for (int r = 0; r < runs.length; r += 2) {
+                long start = base + runs[r];
+                long end = base + runs[r + 1];
+                if (start == pendingEnd) {
+                    pendingEnd = end; // run continues across the container boundary
+                    continue;
+                }
+                if (pendingEnd >= 0) {
+                    intervals.add(new Interval(toSigned(pendingStart), toSigned(pendingEnd)));
+                }
+                pendingStart = start;
+                pendingEnd = end;
+            }
+        }
+        if (pendingEnd >= 0) {
+            intervals.add(new Interval(toSigned(pendingStart), toSigned(pendingEnd)));
+        }
+        return intervals;
+    }
+
+    private IntervalBitmap combine(IntervalBitmap other, int operation) {
+        Builder builder = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < mKeys.length || j < other.mKeys.length) {
+            if (j == other.mKeys.length || (i < mKeys.length && mKeys[i] < other.mKeys[j])) {
+                if (operation != AND) {
+                    builder.appendContainer(mKeys[i], mRuns[i]);
+                }
+                i++;
+            } else if (i == mKeys.length || mKeys[i] > other.mKeys[j]) {
+                if (operation == OR) {
+                    builder.appendContainer(other.mKeys[j], other.mRuns[j]);
+                }
+                j++;
+            } else {
+                builder.appendContainer(mKeys[i], combineRuns(mRuns[i], other.mRuns[j], operation));
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Sweeps the boundaries of both run lists in order, tracking whether the sweep position is
+     * inside a run of each list, and emits a boundary whenever the combined membership flips
+     */
+    private static int[] combineRuns(int[] runs1, int[] runs2, int operation) {
+        int[] result = new int[runs1.length + runs2.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        boolean inResult = false;
+        while (i < runs1.length || j < runs2.length) {
+            int boundary = Math.min(i < runs1.length ? runs1[i] : Integer.MAX_VALUE,
+                    j < runs2.length ? runs2[j] : Integer.MAX_VALUE);
+            if (i < runs1.length && runs1[i] == boundary) {
+                i++;
+            }
+            if (j < runs2.length && runs2[j] == boundary) {
+                j++;
+            }
+            // odd index means the last boundary passed was a run start
+            boolean in1 = (i & 1) == 1;
+            boolean in2 = (j & 1) == 1;
+            boolean in = operation == AND ? in1 && in2 : operation == OR ? in1 || in2 : in1 && !in2;
+            if (in != inResult) {
+                result[size++] = boundary;
+                inResult = in;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static boolean runsIntersect(int[] runs1, int[] runs2) {
+        int i = 0;
+        int j = 0;
+        while (i < runs1.length && j < runs2.length) {
+            if (runs1[i + 1] <= runs2[j]) {
+                i += 2;
+            } else if (runs2[j + 1] <= runs1[i]) {
+                j += 2;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toUnsigned(int value) {
+        return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    private static int toSigned(long unsigned) {
+        return (int) unsigned ^ Integer.MIN_VALUE;
+    }
+
+    private static class Builder {
+
+        private char[] mKeys = new char[4];
+        private int[][] mRuns = new int[4][];
+        private int[] mRunsSizes = new int[4];
+        private int mCount;
+
+        /**
+         * Appends the unsigned range [from, to), which must start after everything appended so far
+         */
+        void appendRange(long from, long to) {
+            while (from < to) {
+                char key = (char) (from >>> CONTAINER_SHIFT);
+                long containerEnd = ((long) key + 1) << CONTAINER_SHIFT;
+                long runEnd = Math.min(to, containerEnd);
+                appendRun(key, (int) (from & (CONTAINER_SIZE - 1)), (int) (runEnd - ((long) key << CONTAINER_SHIFT)));
+                from = runEnd;
+            }
+        }
+
+        void appendContainer(char key, int[] runs) {
+            if (runs.length == 0) {
+                return;
+            }
+            ensureCapacity();
+            mKeys[mCount] = key;
+            mRuns[mCount] = runs;
+            mRunsSizes[mCount] = runs.length;
+            mCount++;
+        }
+
+        IntervalBitmap build() {
+            int[][] runs = new int[mCount][];
+            for (int c = 0; c < mCount; c++) {
+                runs[c] = mRuns[c].length == mRunsSizes[c] ? mRuns[c] : Arrays.copyOf(mRuns[c], mRunsSizes[c]);
+            }
+            return new IntervalBitmap(Arrays.copyOf(mKeys, mCount), runs);
+        }
+
+        private void appendRun(char key, int start, int end) {
+            if (mCount == 0 || mKeys[mCount - 1] != key) {
+                ensureCapacity();
+                mKeys[mCount] = key;
+                mRuns[mCount] = new int[4];
+                mRunsSizes[mCount] = 0;
+                mCount++;
+            }
+            int container = mCount - 1;
+            int size = mRunsSizes[container];
+            if (size > 0 && mRuns[container][size - 1] == start) {
+                mRuns[container][size - 1] = end;
+                return;
+            }
+            if (size + 2 > mRuns[container].length) {
+                mRuns[container] = Arrays.copyOf(mRuns[container], mRuns[container].length * 2);
+            }
+            mRuns[container][size] = start;
+            mRuns[container][size + 1] = end;
+            mRunsSizes[container] = size + 2;
+        }
+
+        private void ensureCapacity() {
+            if (mCount == mKeys.length) {
+                mKeys = Arrays.copyOf(mKeys, mCount * 2);
+                mRuns = Arrays.copyOf(mRuns, mCount * 2);
+                mRunsSizes = Arrays.copyOf(mRunsSizes, mCount * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+/**
+ * Receives intervals as primitive bounds, so producers don't have to allocate {@link Interval}s
+ */
+public interface IntervalBoundsListener {
+
+    void onInterval(int start, int end);
+
+}
@@ -0,0 +1,36 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+/**
+ * Capacity and index handling shared by the primitive column stores {@link IntervalArray} and
+ * {@link LongIntervalArray}
+ */
+class IntervalColumns {
+
+    // some VMs reserve header words in arrays
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private IntervalColumns() {
+    }
+
+    /**
+     * @param required number of elements the columns must hold; negative if it overflowed int
+     * @return the current capacity if it's enough, otherwise the capacity to grow the columns to
+     * @throws OutOfMemoryError if the required capacity can't be allocated
+     */
+    static int newCapacity(int current, int required) {
+        if (required < 0 || required > MAX_CAPACITY) {
+            throw new OutOfMemoryError("interval array too large");
+        }
+        if (required <= current) {
+            return current;
+        }
+        int grown = current + (current >> 1) + 1;
+        return grown < 0 || grown > MAX_CAPACITY ? MAX_CAPACITY : Math.max(required, grown);
+    }
+
+    static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Static index answering "which intervals contain point t", i.e. start <= t < end.
+ * <p>
+ * Counting uses sorted copies of the starts and of the ends: the intervals containing t are the
+ * ones starting at or before t minus the ones also ending at or before t, which is two binary
+ * searches. Listing uses a centered interval tree stored in flat arrays: each node keeps the
+ * intervals containing its center sorted by start and by end, so a query walks one root-to-leaf
+ * path and stops scanning each node's lists at the first miss.
+ * Single-point queries don't allocate.
+ */
+public class IntervalStabbingIndex {
+
+    private static final int NO_NODE = -1;
+
+    private final Interval[] mIntervals;
+
+    private final int[] mSortedStarts;
+    private final int[] mSortedEnds;
+    private final int[] mStartOrder;
+    private final int[] mEndOrder;
+
+    private final int[] mNodeCenters;
+    private final int[] mNodeLeft;
+    private final int[] mNodeRight;
+    private final int[] mNodeOffsets;
+    private final int[] mNodeSizes;
+    // intervals containing each node's center, per node: ascending by start and descending by end
+    private final int[] mCenteredByStart;
+    private final int[] mCenteredByEnd;
+    private int mNodeCount;
+    private int mCenteredCount;
+    private final int mRoot;
+
+    public IntervalStabbingIndex(Collection<Interval> intervals) {
+        mIntervals = intervals.toArray(new Interval[intervals.size()]);
+        int size = mIntervals.length;
+
+        mSortedStarts = new int[size];
+        mStartOrder = new int[size];
+        sortIndices(true, mSortedStarts, mStartOrder);
+        mSortedEnds = new int[size];
+        mEndOrder = new int[size];
+        sortIndices(false, mSortedEnds, mEndOrder);
+
+        mNodeCenters = new int[size];
+        mNodeLeft = new int[size];
+        mNodeRight = new int[size];
+        mNodeOffsets = new int[size];
+        mNodeSizes = new int[size];
+        mCenteredByStart = new int[size];
+        mCenteredByEnd = new int[size];
+        mRoot = buildNode(mStartOrder.clone());
+    }
+
+    public int size() {
+        return mIntervals.length;
+    }
+
+    /**
+     * O(log n)
+     * @return number of intervals containing the point
+     */
+    public int countContaining(int point) {
+        return countAtMost(mSortedStarts, point) - countAtMost(mSortedEnds, point);
+    }
+
+    /**
+     * Reports all intervals containing the point in O(log n + k)
+     */
+    public void findContaining(int point, StabbingListener listener) {
+        int node = mRoot;
+        while (node != NO_NODE) {
+            int center = mNodeCenters[node];
+            int from = mNodeOffsets[node];
+            int to = from + mNodeSizes[node];
+            if (point < center) {
+                // all centered intervals end after center > point, so only their starts matter
+                for (int i = from; i < to && mIntervals[mCenteredByStart[i]].getStart() <= point; i++) {
+                    listener.onIntervalContaining(point, mIntervals[mCenteredByStart[i]]);
+                }
+                node = mNodeLeft[node];
+            } else if (point > center) {
+                // all centered intervals start at or before center < point, so only their ends matter
+                for (int i = from; i < to && mIntervals[mCenteredByEnd[i]].getEnd() > point; i++) {
+                    listener.onIntervalContaining(point, mIntervals[mCenteredByEnd[i]]);
+                }
+                node = mNodeRight[node];
+            } else {
+                for (int i = from; i < to; i++) {
+                    listener.onIntervalContaining(point, mIntervals[mCenteredByStart[i]]);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Counts intervals containing each of the ascending points in a single merged pass over the
+     * sorted starts and ends
+     * @param counts receives the count for sortedPoints[i] at index i
+     */
+    public void countContaining(int[] sortedPoints, int[] counts) {
+        int startsAtOrBefore = 0;
+        int endsAtOrBefore = 0;
+        for (int i = 0; i < sortedPoints.length; i++) {
+            int point = sortedPoints[i];
+            checkSorted(sortedPoints, i);
+            while (startsAtOrBefore < mSortedStarts.length && mSortedStarts[startsAtOrBefore] <= point) {
+                startsAtOrBefore++;
+            }
+            while (endsAtOrBefore < mSortedEnds.length && mSortedEnds[endsAtOrBefore] <= point) {
+                endsAtOrBefore++;
+            }
+            counts[i] = startsAtOrBefore - endsAtOrBefore;
+        }
+    }
+
+    /**
+     * Reports the intervals containing each of the ascending points in a single merged pass which
+     * maintains the set of intervals active at the current point
+     */
+    public void findContaining(int[] sortedPoints, StabbingListener listener) {
+        int[] active = new int[mIntervals.length];
+        int[] positions = new int[mIntervals.length];
+        int activeCount = 0;
+        int nextStart = 0;
+        int nextEnd = 0;
+        for (int i = 0; i < sortedPoints.length; i++) {
+            int point = sortedPoints[i];
+            checkSorted(sortedPoints, i);
+            while (nextStart < mSortedStarts.length && mSortedStarts[nextStart] <= point) {
+                int interval = mStartOrder[nextStart++];
+                positions[interval] = activeCount;
+                active[activeCount++] = interval;
+            }
+            // anything ending at or before the point also started before it, so it's active
+            while (nextEnd < mSortedEnds.length && mSortedEnds[nextEnd] <= point) {
+                int interval = mEndOrder[nextEnd++];
+                int last = active[--activeCount];
+                active[positions[interval]] = last;
+                positions[last] = positions[interval];
+            }
+            for (int j = 0; j < activeCount; j++) {
+                listener.onIntervalContaining(point, mIntervals[active[j]]);
+            }
+        }
+    }
+
+    /**
+     * @param indices intervals of this subtree, sorted by start
+     */
+    private int buildNode(int[] indices) {
+        if (indices.length == 0) {
+            return NO_NODE;
+        }
+        int center = mIntervals[indices[indices.length / 2]].getStart();
+
+        int leftCount = 0;
+        int rightCount = 0;
+        for (int index : indices) {
+            if (mIntervals[index].getEnd() <= center) {
+                leftCount++;
+            } else if (mIntervals[index].getStart() > center) {
+                rightCount++;
+            }
+        }
+        int[] left = new int[leftCount];
+        int[] right = new int[rightCount];
+        int centeredCount = indices.length - leftCount - rightCount;
+        long[] centeredByEnd = new long[centeredCount];
+
+        int node = mNodeCount++;
+        mNodeCenters[node] = center;
+        mNodeOffsets[node] = mCenteredCount;
+        mNodeSizes[node] = centeredCount;
+        leftCount = 0;
+        rightCount = 0;
+        int centered = 0;
+        for (int index : indices) {
+            if (mIntervals[index].getEnd() <= center) {
+                left[leftCount++] = index;
+            } else if (mIntervals[index].getStart() > center) {
+                right[rightCount++] = index;
+            } else {
+                mCenteredByStart[mCenteredCount + centered] = index;
+                centeredByEnd[centered++] = ((long) mIntervals[index].getEnd() << 32) | index;
+            }
+        }
+        Arrays.sort(centeredByEnd);
+        for (int i = 0; i < centeredCount; i++) {
+            mCenteredByEnd[mCenteredCount + centeredCount - 1 - i] = (int) centeredByEnd[i];
+        }
+        mCenteredCount += centeredCount;
+
+        mNodeLeft[node] = buildNode(left);
+        mNodeRight[node] = buildNode(right);
+        return node;
+    }
+
+    private void sortIndices(boolean byStart, int[] sortedValues, int[] order) {
+        long[] keys = new long[mIntervals.length];
+        for (int i = 0; i < keys.length; i++) {
+            int value = byStart ? mIntervals[i].getStart() : mIntervals[i].getEnd();
+            keys[i] = ((long) value << 32) | i;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            sortedValues[i] = (int) (keys[i] >> 32);
+            order[i] = (int) keys[i];
+        }
+    }
+
+    private int countAtMost(int[] sortedValues, int value) {
+        int lo = 0;
+        int hi = sortedValues.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedValues[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void checkSorted(int[] points, int index) {
+        if (index > 0 && points[index] < points[index - 1]) {
+            throw new IllegalArgumentException("points not sorted");
+        }
+    }
+}
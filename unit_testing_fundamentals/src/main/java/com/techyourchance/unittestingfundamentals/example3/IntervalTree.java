@@ -0,0 +1,39 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Static augmented interval tree built once from a collection of intervals.
+ * The tree is implicit: intervals are sorted by start, every range [lo, hi) of the sorted array
+ * is a subtree rooted at its middle element, and each root also stores the max end of its subtree.
+ * Pruning by max end and by start bounds a query by O(log n) per reported interval, so it costs
+ * O((k + 1) log n) in the worst case.
+ * Overlap uses the same half-open semantics as {@link IntervalsOverlapDetector#isOverlap}.
+ */
+public class IntervalTree {
+
+    private final ImplicitIntervalTree<Interval> mTree;
+
+    public IntervalTree(Collection<Interval> intervals) {
+        mTree = new ImplicitIntervalTree<>(SortedIntervals.ofInts(intervals, null, true));
+    }
+
+    public int size() {
+        return mTree.size();
+    }
+
+    /**
+     * @return all stored intervals that overlap the argument, ordered by start
+     */
+    public List<Interval> findOverlapping(Interval interval) {
+        return mTree.findOverlapping(interval.getStart(), interval.getEnd());
+    }
+
+    /**
+     * @return true if at least one stored interval overlaps the argument
+     */
+    public boolean isOverlapping(Interval interval) {
+        return mTree.isOverlapping(interval.getStart(), interval.getEnd());
+    }
+}
@@ -0,0 +1,160 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Merges overlapping (per {@link IntervalsOverlapDetector}) and adjacent intervals into the
+ * minimal set of intervals covering the same points.
+ */
+public class IntervalsCoalescer {
+
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 14;
+
+    /**
+     * Lazily coalesces intervals sorted by start. Memory use is O(1) regardless of input size.
+     * Intervals that don't merge with anything are returned as is.
+     * @throws IllegalArgumentException from the returned iterator if the input isn't sorted
+     */
+    public Iterator<Interval> coalesce(Iterator<Interval> sortedIntervals) {
+        return new CoalescingIterator(sortedIntervals);
+    }
+
+    /**
+     * Coalesces unsorted in-memory intervals: parallel sort, then independent merges of fixed-size
+     * chunks, then one sequential pass that fixes up merges across chunk seams.
+     * @return coalesced intervals sorted by start
+     */
+    public IntervalArray coalesce(IntervalArray intervals, ForkJoinPool pool) {
+        int size = intervals.size();
+        if (size == 0) {
+            return new IntervalArray();
+        }
+
+        // start in the high half, end shifted to unsigned order in the low half
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) intervals.getStart(i) << 32) | ((intervals.getEnd(i) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        ParallelLongSorter.sort(keys, size, pool);
+
+        int chunks = (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        int[] starts = new int[size];
+        int[] ends = new int[size];
+        int[] chunkSizes = new int[chunks];
+        pool.invoke(new ChunksTask(keys, starts, ends, chunkSizes, 0, chunks));
+
+        final IntervalArray result = new IntervalArray();
+        StreamingIntervalsCoalescer seams = new StreamingIntervalsCoalescer(new IntervalBoundsListener() {
+            @Override
+            public void onInterval(int start, int end) {
+                result.add(start, end);
+            }
+        });
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int offset = chunk * PARALLEL_CHUNK_SIZE;
+            for (int i = offset; i < offset + chunkSizes[chunk]; i++) {
+                seams.add(starts[i], ends[i]);
+            }
+        }
+        seams.flush();
+        return result;
+    }
+
+    private static class ChunksTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] mKeys;
+        private final int[] mStarts;
+        private final int[] mEnds;
+        private final int[] mChunkSizes;
+        private final int mFromChunk;
+        private final int mToChunk;
+
+        ChunksTask(long[] keys, int[] starts, int[] ends, int[] chunkSizes, int fromChunk, int toChunk) {
+            mKeys = keys;
+            mStarts = starts;
+            mEnds = ends;
+            mChunkSizes = chunkSizes;
+            mFromChunk = fromChunk;
+            mToChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (mToChunk - mFromChunk > 1) {
+                int mid = (mFromChunk + mToChunk) >>> 1;
+                invokeAll(new ChunksTask(mKeys, mStarts, mEnds, mChunkSizes, mFromChunk, mid),
+                        new ChunksTask(mKeys, mStarts, mEnds, mChunkSizes, mid, mToChunk));
+                return;
+            }
+            int from = mFromChunk * PARALLEL_CHUNK_SIZE;
+            int to = Math.min(from + PARALLEL_CHUNK_SIZE, mKeys.length);
+            int out = from - 1;
+            for (int i = from; i < to; i++) {
+                int start = (int) (mKeys[i] >> 32);
+                int end = (int) mKeys[i] ^ Integer.MIN_VALUE;
+                if (out >= from && start <= mEnds[out]) {
+                    mEnds[out] = Math.max(mEnds[out], end);
+                } else {
+                    out++;
+                    mStarts[out] = start;
+                    mEnds[out] = end;
+                }
+            }
+            mChunkSizes[mFromChunk] = out + 1 - from;
+        }
+    }
+
+    private static class CoalescingIterator implements Iterator<Interval> {
+
+        private final Iterator<Interval> mSource;
+
+        private Interval mPending;
+
+        CoalescingIterator(Iterator<Interval> source) {
+            mSource = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return mPending != null || mSource.hasNext();
+        }
+
+        @Override
+        public Interval next() {
+            if (mPending == null) {
+                if (!mSource.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                mPending = mSource.next();
+            }
+            Interval first = mPending;
+            int start = first.getStart();
+            int end = first.getEnd();
+            int previousStart = start;
+            mPending = null;
+            while (mSource.hasNext()) {
+                Interval interval = mSource.next();
+                if (interval.getStart() < previousStart) {
+                    throw new IllegalArgumentException("intervals not sorted by start");
+                }
+                previousStart = interval.getStart();
+                if (interval.getStart() > end) {
+                    mPending = interval;
+                    break;
+                }
+                end = Math.max(end, interval.getEnd());
+            }
+            return end == first.getEnd() ? first : new Interval(start, end);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
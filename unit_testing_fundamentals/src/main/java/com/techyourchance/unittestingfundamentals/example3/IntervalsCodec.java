@@ -0,0 +1,291 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Compact binary format for intervals sorted by start. Starts are delta-encoded, ends are encoded
+ * as lengths, and all numbers are LEB128 varints, so dense calendars take two or three bytes per
+ * interval.
+ * <p>
+ * Stream layout:
+ * <pre>
+ * header: int magic, byte version
+ * blocks: varint count (1..BLOCK_SIZE), varint payloadLength, payload
+ * end:    varint 0
+ * payload: zigzag varint first start, varint first length,
+ *          (count - 1) x (varint start delta, varint length)
+ * </pre>
+ * Each block starts from an absolute start and its payload length is a skip pointer to the next
+ * block, so a reader can skip blocks without decoding them. Decoders append to an
+ * {@link IntervalArray} and never create {@link Interval} objects.
+ */
+public class IntervalsCodec {
+
+    private static final int MAGIC = 0x49564456; // "IVDV"
+    private static final byte VERSION = 1;
+    private static final int BLOCK_SIZE = 128;
+    private static final int MAX_VARINT_SIZE = 5;
+    private static final int MAX_BLOCK_HEADER_SIZE = 2 * MAX_VARINT_SIZE;
+    private static final int MAX_PAYLOAD_SIZE = 2 * MAX_VARINT_SIZE * BLOCK_SIZE;
+
+    /**
+     * @return upper bound of the encoded size of the given number of intervals
+     */
+    public int maxEncodedSize(int count) {
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        return 5 + blocks * MAX_BLOCK_HEADER_SIZE + count * 2 * MAX_VARINT_SIZE + 1;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the intervals aren't sorted by start
+     */
+    public void encode(Iterator<Interval> sortedIntervals, OutputStream out) throws IOException {
+        BlockWriter writer = new BlockWriter();
+        writeHeader(out);
+        while (sortedIntervals.hasNext()) {
+            Interval interval = sortedIntervals.next();
+            if (writer.add(interval.getStart(), interval.getEnd())) {
+                writer.writeTo(out);
+            }
+        }
+        writer.writeTo(out);
+        out.write(0);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the intervals aren't sorted by start
+     */
+    public void encode(IntervalArray sortedIntervals, OutputStream out) throws IOException {
+        BlockWriter writer = new BlockWriter();
+        writeHeader(out);
+        for (int i = 0; i < sortedIntervals.size(); i++) {
+            if (writer.add(sortedIntervals.getStart(i), sortedIntervals.getEnd(i))) {
+                writer.writeTo(out);
+            }
+        }
+        writer.writeTo(out);
+        out.write(0);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the intervals aren't sorted by start
+     * @throws java.nio.BufferOverflowException if the buffer has less than
+     *         {@link #maxEncodedSize(int)} bytes remaining and the encoding doesn't fit
+     */
+    public void encode(IntervalArray sortedIntervals, ByteBuffer out) {
+        BlockWriter writer = new BlockWriter();
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        for (int i = 0; i < sortedIntervals.size(); i++) {
+            if (writer.add(sortedIntervals.getStart(i), sortedIntervals.getEnd(i))) {
+                writer.writeTo(out);
+            }
+        }
+        writer.writeTo(out);
+        out.put((byte) 0);
+    }
+
+    /**
+     * Reads one encoded stream and appends its intervals to the array
+     */
+    public void decode(InputStream in, IntervalArray out) throws IOException {
+        DataInputStream dataIn = new DataInputStream(in);
+        if (dataIn.readInt() != MAGIC || dataIn.readByte() != VERSION) {
+            throw new IOException("not an intervals stream");
+        }
+        byte[] payload = new byte[MAX_PAYLOAD_SIZE];
+        ByteBuffer payloadBuffer = ByteBuffer.wrap(payload);
+        int count;
+        while ((count = (int) readVarint(dataIn)) != 0) {
+            int length = (int) readVarint(dataIn);
+            if (count > BLOCK_SIZE || length > MAX_PAYLOAD_SIZE) {
+                throw new IOException("corrupted intervals stream");
+            }
+            dataIn.readFully(payload, 0, length);
+            payloadBuffer.clear();
+            payloadBuffer.limit(length);
+            decodePayload(payloadBuffer, count, Integer.MIN_VALUE, out);
+        }
+    }
+
+    /**
+     * Reads one encoded stream from the buffer's position and appends its intervals to the array
+     */
+    public void decode(ByteBuffer in, IntervalArray out) {
+        decode(in, Integer.MIN_VALUE, out);
+    }
+
+    /**
+     * Reads one encoded stream from the buffer's position and appends only the intervals that start
+     * at or after minStart. Blocks that end before minStart are skipped without being decoded.
+     */
+    public void decode(ByteBuffer in, int minStart, IntervalArray out) {
+        if (in.getInt() != MAGIC || in.get() != VERSION) {
+            throw new IllegalArgumentException("not an intervals stream");
+        }
+        int count = (int) readVarint(in);
+        while (count != 0) {
+            int length = (int) readVarint(in);
+            int payloadStart = in.position();
+            in.position(payloadStart + length);
+            int nextCount = (int) readVarint(in);
+            int nextPosition = in.position();
+            // all starts of this block are at or before the first start of the next one
+            boolean skip = nextCount != 0 && firstStartOfBlock(in) < minStart;
+            if (!skip) {
+                in.position(payloadStart);
+                decodePayload(in, count, minStart, out);
+            }
+            in.position(nextPosition);
+            count = nextCount;
+        }
+    }
+
+    private int firstStartOfBlock(ByteBuffer in) {
+        readVarint(in); // payload length
+        return decodeZigZag(readVarint(in));
+    }
+
+    private void decodePayload(ByteBuffer payload, int count, int minStart, IntervalArray out) {
+        int start = decodeZigZag(readVarint(payload));
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                start = (int) (start + readVarint(payload));
+            }
+            int end = (int) (start + readVarint(payload));
+            if (start >= minStart) {
+                out.add(start, end);
+            }
+        }
+    }
+
+    private void writeHeader(OutputStream out) throws IOException {
+        out.write(new byte[] {(byte) (MAGIC >>> 24), (byte) (MAGIC >>> 16), (byte) (MAGIC >>> 8), (byte) MAGIC, VERSION});
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("corrupted intervals stream");
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_SIZE; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+        throw new IOException("corrupted intervals stream");
+    }
+
+    private static int decodeZigZag(long value) {
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+
+    /**
+     * Encodes one block at a time: the payload goes after room reserved for the block header, and
+     * the header is written right-aligned into that room once the payload length is known
+     */
+    private static class BlockWriter {
+
+        private final byte[] mBuffer = new byte[MAX_BLOCK_HEADER_SIZE + MAX_PAYLOAD_SIZE];
+        private int mPosition = MAX_BLOCK_HEADER_SIZE;
+        private int mCount;
+        private int mBlockOffset;
+        private boolean mHasPrevious;
+        private int mPreviousStart;
+
+        /**
+         * @return true if the block is full and has to be written out
+         */
+        boolean add(int start, int end) {
+            if (start >= end) {
+                throw new IllegalArgumentException("invalid interval range");
+            }
+            if (mHasPrevious && start < mPreviousStart) {
+                throw new IllegalArgumentException("intervals not sorted by start");
+            }
+            if (mCount == 0) {
+                writeVarint(((start << 1) ^ (start >> 31)) & 0xFFFFFFFFL);
+            } else {
+                writeVarint((long) start - mPreviousStart);
+            }
+            writeVarint((long) end - start);
+            mHasPrevious = true;
+            mPreviousStart = start;
+            return ++mCount == BLOCK_SIZE;
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            if (finishBlock()) {
+                out.write(mBuffer, mBlockOffset, mPosition - mBlockOffset);
+                reset();
+            }
+        }
+
+        void writeTo(ByteBuffer out) {
+            if (finishBlock()) {
+                out.put(mBuffer, mBlockOffset, mPosition - mBlockOffset);
+                reset();
+            }
+        }
+
+        /**
+         * @return false if the block is empty
+         */
+        private boolean finishBlock() {
+            if (mCount == 0) {
+                return false;
+            }
+            int payloadEnd = mPosition;
+            int payloadLength = payloadEnd - MAX_BLOCK_HEADER_SIZE;
+            int headerSize = varintSize(mCount) + varintSize(payloadLength);
+            mBlockOffset = MAX_BLOCK_HEADER_SIZE - headerSize;
+            mPosition = mBlockOffset;
+            writeVarint(mCount);
+            writeVarint(payloadLength);
+            mPosition = payloadEnd;
+            return true;
+        }
+
+        private void reset() {
+            mPosition = MAX_BLOCK_HEADER_SIZE;
+            mCount = 0;
+        }
+
+        private void writeVarint(long value) {
+            while (value >= 0x80) {
+                mBuffer[mPosition++] = (byte) (value | 0x80);
+                value >>>= 7;
+            }
+            mBuffer[mPosition++] = (byte) value;
+        }
+
+        private static int varintSize(long value) {
+            int size = 1;
+            while (value >= 0x80) {
+                value >>>= 7;
+                size++;
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+/**
+ * Streaming overlap join of two interval sources sorted by start. Both iterators are advanced in
+ * start order, like in a merge. Each side keeps only its currently active intervals (those that
+ * end after the current sweep position) in a min-heap keyed by end, so memory is bounded by the
+ * maximum overlap depth rather than by input size.
+ * Overlap uses the same semantics as {@link IntervalsOverlapDetector#isOverlap}.
+ */
+public class IntervalsJoin {
+
+    private static final Comparator<Interval> END_COMPARATOR = new Comparator<Interval>() {
+        @Override
+        public int compare(Interval interval1, Interval interval2) {
+            return Integer.compare(interval1.getEnd(), interval2.getEnd());
+        }
+    };
+
+    /**
+     * Reports every overlapping pair with the left interval passed first to the listener
+     * @throws IllegalArgumentException if either source isn't sorted by start
+     */
+    public void join(Iterator<Interval> left, Iterator<Interval> right, OverlappingPairListener listener) {
+        PriorityQueue<Interval> activeLeft = new PriorityQueue<>(16, END_COMPARATOR);
+        PriorityQueue<Interval> activeRight = new PriorityQueue<>(16, END_COMPARATOR);
+        Interval nextLeft = left.hasNext() ? left.next() : null;
+        Interval nextRight = right.hasNext() ? right.next() : null;
+
+        while (nextLeft != null || nextRight != null) {
+            if ((nextLeft == null && activeLeft.isEmpty()) || (nextRight == null && activeRight.isEmpty())) {
+                return; // the remaining intervals have nothing left to pair with
+            }
+            if (nextRight == null || (nextLeft != null && nextLeft.getStart() <= nextRight.getStart())) {
+                Interval current = nextLeft;
+                evictEndedBefore(activeLeft, current.getStart());
+                evictEndedBefore(activeRight, current.getStart());
+                for (Interval active : activeRight) {
+                    listener.onOverlappingPair(current, active);
+                }
+                activeLeft.add(current);
+                nextLeft = advance(left, current);
+            } else {
+                Interval current = nextRight;
+                evictEndedBefore(activeLeft, current.getStart());
+                evictEndedBefore(activeRight, current.getStart());
+                for (Interval active : activeLeft) {
+                    listener.onOverlappingPair(active, current);
+                }
+                activeRight.add(current);
+                nextRight = advance(right, current);
+            }
+        }
+    }
+
+    /**
+     * Active intervals that end at or before the sweep position can't overlap the current
+     * interval or any interval that starts later
+     */
+    private void evictEndedBefore(PriorityQueue<Interval> active, int position) {
+        while (!active.isEmpty() && active.peek().getEnd() <= position) {
+            active.poll();
+        }
+    }
+
+    private Interval advance(Iterator<Interval> source, Interval previous) {
+        if (!source.hasNext()) {
+            return null;
+        }
+        Interval next = source.next();
+        if (next.getStart() < previous.getStart()) {
+            throw new IllegalArgumentException("intervals not sorted by start");
+        }
+        return next;
+    }
+}
@@ -0,0 +1,117 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes for every interval the number of other intervals it overlaps (per
+ * {@link IntervalsOverlapDetector}) in O(n log n) instead of O(n^2) pairwise checks.
+ * Interval j overlaps interval i iff start_j < end_i and end_j > start_i. Every j that ends at or
+ * before start_i also starts before end_i, so the count is (#starts < end_i) - (#ends <= start_i),
+ * which is two binary searches over sorted copies of the starts and the ends.
+ */
+public class IntervalsOverlapCounter {
+
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 13;
+
+    /**
+     * @return array in which element i is the number of intervals, other than the i-th one, that
+     *         overlap the i-th interval
+     */
+    public int[] countOverlaps(IntervalArray intervals, ForkJoinPool pool) {
+        int size = intervals.size();
+        final int[] starts = new int[size];
+        final int[] ends = new int[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = intervals.getStart(i);
+            ends[i] = intervals.getEnd(i);
+        }
+        final int[] sortedStarts = starts.clone();
+        final int[] sortedEnds = ends.clone();
+        pool.invoke(new RecursiveAction() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                invokeAll(new SortTask(sortedStarts), new SortTask(sortedEnds));
+            }
+        });
+
+        int[] counts = new int[size];
+        pool.invoke(new CountTask(starts, ends, sortedStarts, sortedEnds, counts, 0, size));
+        return counts;
+    }
+
+    private static class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] mArray;
+
+        SortTask(int[] array) {
+            mArray = array;
+        }
+
+        @Override
+        protected void compute() {
+            Arrays.sort(mArray);
+        }
+    }
+
+    private static class CountTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] mStarts;
+        private final int[] mEnds;
+        private final int[] mSortedStarts;
+        private final int[] mSortedEnds;
+        private final int[] mCounts;
+        private final int mFrom;
+        private final int mTo;
+
+        CountTask(int[] starts, int[] ends, int[] sortedStarts, int[] sortedEnds, int[] counts, int from, int to) {
+            mStarts = starts;
+            mEnds = ends;
+            mSortedStarts = sortedStarts;
+            mSortedEnds = sortedEnds;
+            mCounts = counts;
+            mFrom = from;
+            mTo = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom > PARALLEL_CHUNK_SIZE) {
+                int mid = (mFrom + mTo) >>> 1;
+                invokeAll(new CountTask(mStarts, mEnds, mSortedStarts, mSortedEnds, mCounts, mFrom, mid),
+                        new CountTask(mStarts, mEnds, mSortedStarts, mSortedEnds, mCounts, mid, mTo));
+                return;
+            }
+            for (int i = mFrom; i < mTo; i++) {
+                // minus one for the interval itself, which always overlaps itself; start + 1 can't
+                // overflow because start < end
+                mCounts[i] = countBelow(mSortedStarts, mEnds[i]) - countBelow(mSortedEnds, mStarts[i] + 1) - 1;
+            }
+        }
+
+        /**
+         * @return number of elements strictly smaller than the value
+         */
+        private static int countBelow(int[] sortedValues, int value) {
+            int lo = 0;
+            int hi = sortedValues.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sortedValues[mid] < value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
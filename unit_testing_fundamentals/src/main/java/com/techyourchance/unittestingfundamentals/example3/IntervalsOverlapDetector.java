@@ -1,9 +1,69 @@
 package com.techyourchance.unittestingfundamentals.example3;
 
+/**
+ * Two intervals overlap when their {@link AllenRelationClassifier} relation is strictly between
+ * MEETS and MET_BY. The checks below are the two comparisons that relation reduces to.
+ */
 public class IntervalsOverlapDetector {
 
     public boolean isOverlap(Interval interval1, Interval interval2) {
-        return interval1.getEnd() > interval2.getStart() && interval1.getStart() < interval2.getEnd();
+        return isOverlap(interval1.getStart(), interval1.getEnd(), interval2.getStart(), interval2.getEnd());
+    }
+
+    /**
+     * Same check as {@link #isOverlap(Interval, Interval)} for intervals stored in packed arrays,
+     * without allocating {@link Interval} objects
+     */
+    public boolean isOverlap(IntervalArray intervals1, int index1, IntervalArray intervals2, int index2) {
+        return isOverlap(intervals1.getStart(index1), intervals1.getEnd(index1), intervals2.getStart(index2), intervals2.getEnd(index2));
+    }
+
+    /**
+     * Same check as {@link #isOverlap(Interval, Interval)} for [start1, end1) and [start2, end2),
+     * e.g. for single axes of {@link Box}es
+     */
+    public boolean isOverlap(int start1, int end1, int start2, int end2) {
+        return start1 < end2 && start2 < end1;
+    }
+
+    /**
+     * Evaluates {@link #isOverlap(Interval, Interval)} of the probe against the block of intervals
+     * [starts[i], ends[i]) for i in [from, to).
+     * @return number of overlapping intervals in the block
+     */
+    public int countOverlaps(Interval probe, int[] starts, int[] ends, int from, int to) {
+        int probeStart = probe.getStart();
+        int probeEnd = probe.getEnd();
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += overlapBit(probeStart, probeEnd, starts[i], ends[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Evaluates {@link #isOverlap(Interval, Interval)} of the probe against the block of intervals
+     * [starts[i], ends[i]) for i in [from, to).
+     * @return bitmask in which bit (i - from) is set if the i-th interval overlaps the probe
+     */
+    public long[] overlapMask(Interval probe, int[] starts, int[] ends, int from, int to) {
+        int probeStart = probe.getStart();
+        int probeEnd = probe.getEnd();
+        long[] mask = new long[(to - from + 63) >>> 6];
+        for (int i = from; i < to; i++) {
+            int bit = i - from;
+            mask[bit >>> 6] |= (long) overlapBit(probeStart, probeEnd, starts[i], ends[i]) << bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Branch-free form of the isOverlap() condition: the sign bit of a widened difference is 1
+     * exactly when the first operand is smaller, so no comparison result has to be branched on
+     * and the JIT is free to unroll and vectorize the calling loops.
+     */
+    private int overlapBit(int start1, int end1, int start2, int end2) {
+        return (int) (((long) start2 - end1) >>> 63) & (int) (((long) start1 - end2) >>> 63);
     }
 
 }
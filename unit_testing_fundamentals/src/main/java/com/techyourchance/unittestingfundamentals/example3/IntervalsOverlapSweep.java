@@ -0,0 +1,38 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reports every pair of overlapping intervals in a batch in O(n log n + k) instead of calling
+ * {@link IntervalsOverlapDetector#isOverlap} for all pairs.
+ * Intervals are sorted by start once; each interval then owns the pairs it forms with the
+ * intervals that start after it and before its end, so every pair is reported exactly once.
+ */
+public class IntervalsOverlapSweep {
+
+    public void findOverlappingPairs(Collection<Interval> intervals, OverlappingPairListener listener) {
+        SortedIntervals<Interval> sorted = SortedIntervals.ofInts(intervals, null, false);
+        sorted.sweep(0, sorted.size(), toSink(listener));
+    }
+
+    /**
+     * Same as {@link #findOverlappingPairs(Collection, OverlappingPairListener)}, but sorts and
+     * sweeps on the given pool. Pairs are reported concurrently and in no particular order, so the
+     * listener must be thread-safe.
+     */
+    public void findOverlappingPairsParallel(Collection<Interval> intervals,
+                                             OverlappingPairListener listener,
+                                             ForkJoinPool pool) {
+        SortedIntervals.ofInts(intervals, pool, false).sweepParallel(toSink(listener), pool);
+    }
+
+    private static SortedIntervals.PairSink<Interval> toSink(final OverlappingPairListener listener) {
+        return new SortedIntervals.PairSink<Interval>() {
+            @Override
+            public void onPair(Interval interval1, Interval interval2) {
+                listener.onOverlappingPair(interval1, interval2);
+            }
+        };
+    }
+}
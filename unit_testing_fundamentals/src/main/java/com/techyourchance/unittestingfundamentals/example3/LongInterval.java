@@ -0,0 +1,26 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+/**
+ * {@link Interval} with 64-bit bounds, e.g. for epoch-millisecond or nanosecond timestamps
+ */
+public class LongInterval {
+
+    private final long mStart;
+    private final long mEnd;
+
+    public LongInterval(long start, long end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("invalid interval range");
+        }
+        mStart = start;
+        mEnd = end;
+    }
+
+    public long getStart() {
+        return mStart;
+    }
+
+    public long getEnd() {
+        return mEnd;
+    }
+}
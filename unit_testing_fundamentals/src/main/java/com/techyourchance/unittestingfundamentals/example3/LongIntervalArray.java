@@ -0,0 +1,101 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Arrays;
+
+/**
+ * {@link IntervalArray} for 64-bit intervals: starts and ends are kept in two long[] columns and
+ * validated like in the {@link LongInterval} constructor.
+ * Java generics can't range over primitive arrays, so the column code is specialized like the
+ * JDK's IntStream and LongStream; growth and index checks are shared through
+ * {@link IntervalColumns}.
+ */
+public class LongIntervalArray {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] mStarts;
+    private long[] mEnds;
+    private int mSize;
+
+    public LongIntervalArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongIntervalArray(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("negative capacity");
+        }
+        mStarts = new long[capacity];
+        mEnds = new long[capacity];
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public long getStart(int index) {
+        IntervalColumns.checkIndex(index, mSize);
+        return mStarts[index];
+    }
+
+    public long getEnd(int index) {
+        IntervalColumns.checkIndex(index, mSize);
+        return mEnds[index];
+    }
+
+    /**
+     * @return a new {@link LongInterval} with the bounds of the element at the given index
+     */
+    public LongInterval get(int index) {
+        return new LongInterval(getStart(index), getEnd(index));
+    }
+
+    public void add(long start, long end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("invalid interval range");
+        }
+        ensureCapacity(mSize + 1);
+        mStarts[mSize] = start;
+        mEnds[mSize] = end;
+        mSize++;
+    }
+
+    public void add(LongInterval interval) {
+        add(interval.getStart(), interval.getEnd());
+    }
+
+    /**
+     * Appends length intervals taken from the given columns. All intervals are validated before
+     * anything is appended, so an invalid one leaves this array unchanged.
+     */
+    public void addAll(long[] starts, long[] ends, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (starts[i] >= ends[i]) {
+                throw new IllegalArgumentException("invalid interval range");
+            }
+        }
+        ensureCapacity(mSize + length);
+        System.arraycopy(starts, offset, mStarts, mSize, length);
+        System.arraycopy(ends, offset, mEnds, mSize, length);
+        mSize += length;
+    }
+
+    public void addAll(LongIntervalArray intervals) {
+        ensureCapacity(mSize + intervals.mSize);
+        System.arraycopy(intervals.mStarts, 0, mStarts, mSize, intervals.mSize);
+        System.arraycopy(intervals.mEnds, 0, mEnds, mSize, intervals.mSize);
+        mSize += intervals.mSize;
+    }
+
+    public void clear() {
+        mSize = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        int newCapacity = IntervalColumns.newCapacity(mStarts.length, capacity);
+        if (newCapacity != mStarts.length) {
+            mStarts = Arrays.copyOf(mStarts, newCapacity);
+            mEnds = Arrays.copyOf(mEnds, newCapacity);
+        }
+    }
+}
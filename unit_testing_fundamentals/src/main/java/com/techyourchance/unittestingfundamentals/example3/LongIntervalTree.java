@@ -0,0 +1,35 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link IntervalTree} for 64-bit intervals, sharing its implicit layout, query code and cost.
+ * Overlap uses the same half-open semantics as {@link LongIntervalsOverlapDetector#isOverlap}.
+ */
+public class LongIntervalTree {
+
+    private final ImplicitIntervalTree<LongInterval> mTree;
+
+    public LongIntervalTree(Collection<LongInterval> intervals) {
+        mTree = new ImplicitIntervalTree<>(SortedIntervals.ofLongs(intervals, null, true));
+    }
+
+    public int size() {
+        return mTree.size();
+    }
+
+    /**
+     * @return all stored intervals that overlap the argument, ordered by start
+     */
+    public List<LongInterval> findOverlapping(LongInterval interval) {
+        return mTree.findOverlapping(interval.getStart(), interval.getEnd());
+    }
+
+    /**
+     * @return true if at least one stored interval overlaps the argument
+     */
+    public boolean isOverlapping(LongInterval interval) {
+        return mTree.isOverlapping(interval.getStart(), interval.getEnd());
+    }
+}
@@ -0,0 +1,21 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+/**
+ * {@link IntervalsOverlapDetector} for 64-bit intervals
+ */
+public class LongIntervalsOverlapDetector {
+
+    public boolean isOverlap(LongInterval interval1, LongInterval interval2) {
+        return interval1.getEnd() > interval2.getStart() && interval1.getStart() < interval2.getEnd();
+    }
+
+    /**
+     * Same check as {@link #isOverlap(LongInterval, LongInterval)} for intervals stored in packed
+     * arrays, without allocating {@link LongInterval} objects
+     */
+    public boolean isOverlap(LongIntervalArray intervals1, int index1, LongIntervalArray intervals2, int index2) {
+        return intervals1.getEnd(index1) > intervals2.getStart(index2)
+                && intervals1.getStart(index1) < intervals2.getEnd(index2);
+    }
+
+}
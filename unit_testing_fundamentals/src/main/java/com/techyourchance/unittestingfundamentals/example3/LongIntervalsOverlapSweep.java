@@ -0,0 +1,35 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@link IntervalsOverlapSweep} for 64-bit intervals, sharing its sweep code.
+ */
+public class LongIntervalsOverlapSweep {
+
+    public void findOverlappingPairs(Collection<LongInterval> intervals, LongOverlappingPairListener listener) {
+        SortedIntervals<LongInterval> sorted = SortedIntervals.ofLongs(intervals, null, false);
+        sorted.sweep(0, sorted.size(), toSink(listener));
+    }
+
+    /**
+     * Same as {@link #findOverlappingPairs(Collection, LongOverlappingPairListener)}, but sorts and
+     * sweeps on the given pool. Pairs are reported concurrently and in no particular order, so the
+     * listener must be thread-safe.
+     */
+    public void findOverlappingPairsParallel(Collection<LongInterval> intervals,
+                                             LongOverlappingPairListener listener,
+                                             ForkJoinPool pool) {
+        SortedIntervals.ofLongs(intervals, pool, false).sweepParallel(toSink(listener), pool);
+    }
+
+    private static SortedIntervals.PairSink<LongInterval> toSink(final LongOverlappingPairListener listener) {
+        return new SortedIntervals.PairSink<LongInterval>() {
+            @Override
+            public void onPair(LongInterval interval1, LongInterval interval2) {
+                listener.onOverlappingPair(interval1, interval2);
+            }
+        };
+    }
+}
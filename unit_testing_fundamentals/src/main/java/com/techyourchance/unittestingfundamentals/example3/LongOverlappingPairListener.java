@@ -0,0 +1,7 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+public interface LongOverlappingPairListener {
+
+    void onOverlappingPair(LongInterval interval1, LongInterval interval2);
+
+}
@@ -0,0 +1,294 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Read-only store of intervals sorted by start, answering queries straight from a memory-mapped
+ * file without creating {@link Interval} objects. Opening a store only maps the file, so startup
+ * time doesn't depend on the number of intervals.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ * header:       int magic, int version, long count, int blockSize, int blockCount
+ * block index:  blockCount x (int firstStart, int maxEnd of the block)
+ * max end tree: leafCount x int
+ * records:      count x (int start, int end), sorted by start
+ * </pre>
+ * leafCount is blockCount rounded up to a power of two. The max end tree is an implicit binary
+ * tree over the blocks: node 1 is the root, node k has children 2k and 2k + 1, and node
+ * leafCount + b is block b. Entry k of the tree holds the max end of the blocks under inner node k;
+ * entry 0 is unused. A long interval therefore only makes its own block match later queries.
+ * Overlap uses the same half-open semantics as {@link IntervalsOverlapDetector#isOverlap}.
+ */
+public class MappedIntervalStore implements Closeable {
+
+    private static final int MAGIC = 0x49565354; // "IVST"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 24;
+    private static final int BLOCK_ENTRY_SIZE = 8;
+    private static final int RECORD_SIZE = 8;
+    private static final int DEFAULT_BLOCK_SIZE = 128;
+
+    // records are mapped in 1 GiB segments because a single mapping can't exceed 2 GiB
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final RandomAccessFile mFile;
+    private final long mCount;
+    private final int mBlockSize;
+    private final int mBlockCount;
+    private final int mLeafCount;
+    private final ByteBuffer mBlockIndex;
+    private final ByteBuffer mMaxEndTree;
+    private final ByteBuffer[] mSegments;
+
+    /**
+     * Sorts the intervals by start and writes them to the file in this store's format
+     */
+    public static void write(IntervalArray intervals, File file) throws IOException {
+        int size = intervals.size();
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) intervals.getStart(i) << 32) | ((intervals.getEnd(i) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(keys);
+
+        int blockCount = (size + DEFAULT_BLOCK_SIZE - 1) / DEFAULT_BLOCK_SIZE;
+        int leafCount = leafCount(blockCount);
+        int[] maxEnds = new int[2 * leafCount];
+        Arrays.fill(maxEnds, Integer.MIN_VALUE);
+        for (int block = 0; block < blockCount; block++) {
+            int from = block * DEFAULT_BLOCK_SIZE;
+            int to = Math.min(from + DEFAULT_BLOCK_SIZE, size);
+            for (int i = from; i < to; i++) {
+                maxEnds[leafCount + block] = Math.max(maxEnds[leafCount + block], endOf(keys[i]));
+            }
+        }
+        for (int node = leafCount - 1; node > 0; node--) {
+            maxEnds[node] = Math.max(maxEnds[2 * node], maxEnds[2 * node + 1]);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(size);
+            out.writeInt(DEFAULT_BLOCK_SIZE);
+            out.writeInt(blockCount);
+
+            for (int block = 0; block < blockCount; block++) {
+                out.writeInt(startOf(keys[block * DEFAULT_BLOCK_SIZE]));
+                out.writeInt(maxEnds[leafCount + block]);
+            }
+            for (int node = 0; node < leafCount; node++) {
+                out.writeInt(maxEnds[node]);
+            }
+
+            for (int i = 0; i < size; i++) {
+                out.writeInt(startOf(keys[i]));
+                out.writeInt(endOf(keys[i]));
+            }
+        }
+    }
+
+    public static MappedIntervalStore open(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            return new MappedIntervalStore(randomAccessFile);
+        } catch (IOException | RuntimeException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    private MappedIntervalStore(RandomAccessFile file) throws IOException {
+        mFile = file;
+        FileChannel channel = file.getChannel();
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("not an interval store file");
+        }
+        mCount = header.getLong();
+        mBlockSize = header.getInt();
+        mBlockCount = header.getInt();
+        if (mBlockSize <= 0 || mBlockCount < 0 || mCount < 0) {
+            throw new IOException("corrupted interval store file");
+        }
+        mLeafCount = leafCount(mBlockCount);
+
+        long treeOffset = HEADER_SIZE + (long) mBlockCount * BLOCK_ENTRY_SIZE;
+        long recordsOffset = treeOffset + (long) mLeafCount * 4;
+        if (channel.size() != recordsOffset + mCount * RECORD_SIZE) {
+            throw new IOException("corrupted interval store file");
+        }
+        mBlockIndex = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, (long) mBlockCount * BLOCK_ENTRY_SIZE);
+        mMaxEndTree = channel.map(FileChannel.MapMode.READ_ONLY, treeOffset, (long) mLeafCount * 4);
+
+        int segmentCount = (int) ((mCount + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        mSegments = new ByteBuffer[segmentCount];
+        for (int segment = 0; segment < segmentCount; segment++) {
+            long first = (long) segment << SEGMENT_SHIFT;
+            long records = Math.min(SEGMENT_MASK + 1, mCount - first);
+            mSegments[segment] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    recordsOffset + first * RECORD_SIZE, records * RECORD_SIZE);
+        }
+    }
+
+    public long size() {
+        return mCount;
+    }
+
+    public int getStart(long index) {
+        checkIndex(index);
+        return startAt(index);
+    }
+
+    public int getEnd(long index) {
+        checkIndex(index);
+        return endAt(index);
+    }
+
+    /**
+     * Reports stored intervals that overlap [start, end), ordered by start
+     */
+    public void findOverlapping(int start, int end, IntervalBoundsListener listener) {
+        if (start >= end) {
+            throw new IllegalArgumentException("invalid interval range");
+        }
+        scan(end - 1, start, listener);
+    }
+
+    public long countOverlapping(int start, int end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("invalid interval range");
+        }
+        return scan(end - 1, start, null);
+    }
+
+    /**
+     * Reports stored intervals that contain the point, i.e. start <= point < end, ordered by start
+     */
+    public void findContaining(int point, IntervalBoundsListener listener) {
+        scan(point, point, listener);
+    }
+
+    public long countContaining(int point) {
+        return scan(point, point, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        mFile.close();
+    }
+
+    /**
+     * Visits records with start <= maxStart and end > minEnd. Records past the last start <=
+     * maxStart can't match, and the max end tree skips every subtree of blocks whose max end is
+     * <= minEnd, so only blocks holding a match are read, in O(log n) per block.
+     * @return number of matching records
+     */
+    private long scan(int maxStart, int minEnd, IntervalBoundsListener listener) {
+        return scanNode(1, 0, mLeafCount, firstIndexWithStartAbove(maxStart), minEnd, listener);
+    }
+
+    /**
+     * @param firstBlock first block under the node
+     * @param blocks number of blocks under the node
+     */
+    private long scanNode(int node, int firstBlock, int blocks, long limit, int minEnd,
+                          IntervalBoundsListener listener) {
+        if (firstBlock >= mBlockCount || (long) firstBlock * mBlockSize >= limit || nodeMaxEnd(node) <= minEnd) {
+            return 0;
+        }
+        if (blocks > 1) {
+            int half = blocks >>> 1;
+            return scanNode(2 * node, firstBlock, half, limit, minEnd, listener)
+                    + scanNode(2 * node + 1, firstBlock + half, half, limit, minEnd, listener);
+        }
+        long matches = 0;
+        long to = Math.min((long) (firstBlock + 1) * mBlockSize, limit);
+        for (long i = (long) firstBlock * mBlockSize; i < to; i++) {
+            int end = endAt(i);
+            if (end > minEnd) {
+                matches++;
+                if (listener != null) {
+                    listener.onInterval(startAt(i), end);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private long firstIndexWithStartAbove(int value) {
+        // last block whose first start is <= value
+        int lo = 0;
+        int hi = mBlockCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (blockFirstStart(mid) <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        if (lo == 0) {
+            return 0;
+        }
+        long from = (long) (lo - 1) * mBlockSize;
+        long to = Math.min(from + mBlockSize, mCount);
+        while (from < to) {
+            long mid = (from + to) >>> 1;
+            if (startAt(mid) <= value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private int blockFirstStart(int block) {
+        return mBlockIndex.getInt(block * BLOCK_ENTRY_SIZE);
+    }
+
+    private int nodeMaxEnd(int node) {
+        if (node >= mLeafCount) {
+            return mBlockIndex.getInt((node - mLeafCount) * BLOCK_ENTRY_SIZE + 4);
+        }
+        return mMaxEndTree.getInt(node * 4);
+    }
+
+    private int startAt(long index) {
+        return mSegments[(int) (index >>> SEGMENT_SHIFT)].getInt((int) (index & SEGMENT_MASK) * RECORD_SIZE);
+    }
+
+    private int endAt(long index) {
+        return mSegments[(int) (index >>> SEGMENT_SHIFT)].getInt((int) (index & SEGMENT_MASK) * RECORD_SIZE + 4);
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= mCount) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + mCount);
+        }
+    }
+
+    private static int leafCount(int blockCount) {
+        return blockCount <= 1 ? 1 : Integer.highestOneBit(blockCount - 1) << 1;
+    }
+
+    private static int startOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int endOf(long key) {
+        return (int) key ^ Integer.MIN_VALUE;
+    }
+}
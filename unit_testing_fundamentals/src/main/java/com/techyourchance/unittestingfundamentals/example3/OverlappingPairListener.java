@@ -0,0 +1,7 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+public interface OverlappingPairListener {
+
+    void onOverlappingPair(Interval interval1, Interval interval2);
+
+}
@@ -0,0 +1,256 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Dynamic multiset of intervals that maintains the number of overlapping (per
+ * {@link IntervalsOverlapDetector}) pairs in O(log n) expected time per insert and remove.
+ * <p>
+ * A stored interval b overlaps [s, e) iff start_b < e and end_b > s. Every b that ends at or before
+ * s also starts before e, so the number of stored intervals overlapping [s, e) is
+ * (#starts < e) - (#ends <= s). Both terms come from order-statistic treaps over the starts and over
+ * the ends. The starts treap also keeps the max end of every subtree, which makes it an interval
+ * tree for listing the conflicts of a given interval.
+ */
+public class OverlappingPairsCounter {
+
+    private final Random mRandom = new Random();
+
+    // key: start, other: end
+    private final Treap mByStart = new Treap();
+    // key: end, other: start
+    private final Treap mByEnd = new Treap();
+
+    private long mNextId;
+    private long mPairCount;
+
+    public int size() {
+        return Node.size(mByStart.mRoot);
+    }
+
+    /**
+     * @return number of unordered pairs of stored intervals that overlap
+     */
+    public long getPairCount() {
+        return mPairCount;
+    }
+
+    /**
+     * @return number of stored intervals the new interval overlaps, i.e. the increase of the pair count
+     */
+    public int insert(Interval interval) {
+        int overlaps = countOverlapping(interval);
+        long id = mNextId++;
+        mByStart.insert(new Node(interval.getStart(), interval.getEnd(), id, interval, mRandom.nextInt()));
+        mByEnd.insert(new Node(interval.getEnd(), interval.getStart(), id, interval, mRandom.nextInt()));
+        mPairCount += overlaps;
+        return overlaps;
+    }
+
+    /**
+     * Removes one stored interval with the same bounds as the argument
+     * @return true if such interval was stored
+     */
+    public boolean remove(Interval interval) {
+        if (!mByStart.removeAny(interval.getStart(), interval.getEnd())) {
+            return false;
+        }
+        mByEnd.removeAny(interval.getEnd(), interval.getStart());
+        mPairCount -= countOverlapping(interval);
+        return true;
+    }
+
+    /**
+     * O(log n)
+     * @return number of stored intervals that overlap the argument
+     */
+    public int countOverlapping(Interval interval) {
+        return mByStart.countLess(interval.getEnd()) - mByEnd.countAtMost(interval.getStart());
+    }
+
+    /**
+     * Max-end pruning costs O(log n) expected per reported interval, so O((k + 1) log n) expected
+     * in the worst case
+     * @return stored intervals that overlap the argument, ordered by start
+     */
+    public List<Interval> findOverlapping(Interval interval) {
+        List<Interval> result = new ArrayList<>();
+        findOverlapping(mByStart.mRoot, interval.getStart(), interval.getEnd(), result);
+        return result;
+    }
+
+    private void findOverlapping(Node node, int start, int end, List<Interval> result) {
+        if (node == null || node.mMaxOther <= start) {
+            return;
+        }
+        findOverlapping(node.mLeft, start, end, result);
+        if (node.mKey < end) {
+            if (node.mOther > start) {
+                result.add(node.mInterval);
+            }
+            findOverlapping(node.mRight, start, end, result);
+        }
+    }
+
+    private static class Treap {
+
+        private Node mRoot;
+
+        void insert(Node node) {
+            mRoot = insert(mRoot, node);
+        }
+
+        /**
+         * Removes any one node with the given key and other value
+         * @return true if such node existed
+         */
+        boolean removeAny(int key, int other) {
+            Node node = mRoot;
+            while (node != null) {
+                int result = compare(key, other, node);
+                if (result == 0) {
+                    mRoot = remove(mRoot, node);
+                    return true;
+                }
+                node = result < 0 ? node.mLeft : node.mRight;
+            }
+            return false;
+        }
+
+        int countLess(int value) {
+            int count = 0;
+            Node node = mRoot;
+            while (node != null) {
+                if (node.mKey < value) {
+                    count += Node.size(node.mLeft) + 1;
+                    node = node.mRight;
+                } else {
+                    node = node.mLeft;
+                }
+            }
+            return count;
+        }
+
+        int countAtMost(int value) {
+            int count = 0;
+            Node node = mRoot;
+            while (node != null) {
+                if (node.mKey <= value) {
+                    count += Node.size(node.mLeft) + 1;
+                    node = node.mRight;
+                } else {
+                    node = node.mLeft;
+                }
+            }
+            return count;
+        }
+
+        private Node insert(Node root, Node node) {
+            if (root == null) {
+                return node;
+            }
+            if (compare(node, root) < 0) {
+                root.mLeft = insert(root.mLeft, node);
+                if (root.mLeft.mPriority > root.mPriority) {
+                    root = rotateRight(root);
+                }
+            } else {
+                root.mRight = insert(root.mRight, node);
+                if (root.mRight.mPriority > root.mPriority) {
+                    root = rotateLeft(root);
+                }
+            }
+            root.update();
+            return root;
+        }
+
+        private Node remove(Node root, Node node) {
+            int result = compare(node, root);
+            if (result < 0) {
+                root.mLeft = remove(root.mLeft, node);
+            } else if (result > 0) {
+                root.mRight = remove(root.mRight, node);
+            } else if (root.mLeft == null) {
+                return root.mRight;
+            } else if (root.mRight == null) {
+                return root.mLeft;
+            } else if (root.mLeft.mPriority > root.mRight.mPriority) {
+                root = rotateRight(root);
+                root.mRight = remove(root.mRight, node);
+            } else {
+                root = rotateLeft(root);
+                root.mLeft = remove(root.mLeft, node);
+            }
+            root.update();
+            return root;
+        }
+
+        private Node rotateRight(Node node) {
+            Node left = node.mLeft;
+            node.mLeft = left.mRight;
+            left.mRight = node;
+            node.update();
+            left.update();
+            return left;
+        }
+
+        private Node rotateLeft(Node node) {
+            Node right = node.mRight;
+            node.mRight = right.mLeft;
+            right.mLeft = node;
+            node.update();
+            right.update();
+            return right;
+        }
+
+        private static int compare(int key, int other, Node node) {
+            int result = Integer.compare(key, node.mKey);
+            return result != 0 ? result : Integer.compare(other, node.mOther);
+        }
+
+        private static int compare(Node node1, Node node2) {
+            int result = compare(node1.mKey, node1.mOther, node2);
+            return result != 0 ? result : Long.compare(node1.mId, node2.mId);
+        }
+    }
+
+    private static class Node {
+
+        private final int mKey;
+        private final int mOther;
+        private final long mId;
+        private final Interval mInterval;
+        private final int mPriority;
+
+        private Node mLeft;
+        private Node mRight;
+        private int mSize = 1;
+        private int mMaxOther;
+
+        Node(int key, int other, long id, Interval interval, int priority) {
+            mKey = key;
+            mOther = other;
+            mId = id;
+            mInterval = interval;
+            mPriority = priority;
+            mMaxOther = other;
+        }
+
+        void update() {
+            mSize = size(mLeft) + size(mRight) + 1;
+            mMaxOther = mOther;
+            if (mLeft != null) {
+                mMaxOther = Math.max(mMaxOther, mLeft.mMaxOther);
+            }
+            if (mRight != null) {
+                mMaxOther = Math.max(mMaxOther, mRight.mMaxOther);
+            }
+        }
+
+        static int size(Node node) {
+            return node == null ? 0 : node.mSize;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join merge sorts for primitive long keys. Interval algorithms either pack the sort key into
+ * the high 32 bits and a payload (index or end) into the low 32 bits, or, when the key needs all
+ * 64 bits, sort an index permutation by key. Neither way boxes.
+ */
+class ParallelLongSorter {
+
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private ParallelLongSorter() {
+    }
+
+    static void sort(long[] array, int size, ForkJoinPool pool) {
+        if (size <= SEQUENTIAL_THRESHOLD) {
+            Arrays.sort(array, 0, size);
+        } else {
+            pool.invoke(new SortTask(array, new long[size], 0, size));
+        }
+    }
+
+    /**
+     * @return indices 0..size-1 ordered by their keys; indices with equal keys keep their order
+     */
+    static int[] sortIndices(long[] keys, int size, ForkJoinPool pool) {
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        int[] buffer = new int[size];
+        if (pool == null || size <= SEQUENTIAL_THRESHOLD) {
+            sortIndicesSequentially(keys, indices, buffer, 0, size);
+        } else {
+            pool.invoke(new IndexSortTask(keys, indices, buffer, 0, size));
+        }
+        return indices;
+    }
+
+    private static void sortIndicesSequentially(long[] keys, int[] indices, int[] buffer, int from, int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int index = indices[i];
+                int j = i - 1;
+                while (j >= from && keys[indices[j]] > keys[index]) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = index;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortIndicesSequentially(keys, indices, buffer, from, mid);
+        sortIndicesSequentially(keys, indices, buffer, mid, to);
+        mergeIndices(keys, indices, buffer, from, mid, to);
+    }
+
+    private static void mergeIndices(long[] keys, int[] indices, int[] buffer, int from, int mid, int to) {
+        if (keys[indices[mid - 1]] <= keys[indices[mid]]) {
+            return; // halves already in order
+        }
+        System.arraycopy(indices, from, buffer, from, mid - from);
+        int left = from;
+        int right = mid;
+        int out = from;
+        while (left < mid && right < to) {
+            indices[out++] = keys[buffer[left]] <= keys[indices[right]] ? buffer[left++] : indices[right++];
+        }
+        while (left < mid) {
+            indices[out++] = buffer[left++];
+        }
+    }
+
+    private static class IndexSortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] mKeys;
+        private final int[] mIndices;
+        private final int[] mBuffer;
+        private final int mFrom;
+        private final int mTo;
+
+        IndexSortTask(long[] keys, int[] indices, int[] buffer, int from, int to) {
+            mKeys = keys;
+            mIndices = indices;
+            mBuffer = buffer;
+            mFrom = from;
+            mTo = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom <= SEQUENTIAL_THRESHOLD) {
+                sortIndicesSequentially(mKeys, mIndices, mBuffer, mFrom, mTo);
+                return;
+            }
+            int mid = (mFrom + mTo) >>> 1;
+            invokeAll(new IndexSortTask(mKeys, mIndices, mBuffer, mFrom, mid),
+                    new IndexSortTask(mKeys, mIndices, mBuffer, mid, mTo));
+            mergeIndices(mKeys, mIndices, mBuffer, mFrom, mid, mTo);
+        }
+    }
+
+    private static class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] mArray;
+        private final long[] mBuffer;
+        private final int mFrom;
+        private final int mTo;
+
+        SortTask(long[] array, long[] buffer, int from, int to) {
+            mArray = array;
+            mBuffer = buffer;
+            mFrom = from;
+            mTo = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom <= SEQUENTIAL_THRESHOLD) {
+                Arrays.sort(mArray, mFrom, mTo);
+                return;
+            }
+            int mid = (mFrom + mTo) >>> 1;
+            invokeAll(new SortTask(mArray, mBuffer, mFrom, mid), new SortTask(mArray, mBuffer, mid, mTo));
+            merge(mid);
+        }
+
+        private void merge(int mid) {
+            if (mArray[mid - 1] <= mArray[mid]) {
+                return; // halves already in order
+            }
+            System.arraycopy(mArray, mFrom, mBuffer, mFrom, mid - mFrom);
+            int left = mFrom;
+            int right = mid;
+            int out = mFrom;
+            while (left < mid && right < mTo) {
+                mArray[out++] = mBuffer[left] <= mArray[right] ? mBuffer[left++] : mArray[right++];
+            }
+            while (left < mid) {
+                mArray[out++] = mBuffer[left++];
+            }
+        }
+    }
+}
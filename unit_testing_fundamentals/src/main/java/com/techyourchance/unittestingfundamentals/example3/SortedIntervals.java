@@ -0,0 +1,206 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Intervals sorted by start and split into primitive columns, shared by the {@link Interval} and
+ * {@link LongInterval} trees and sweeps. Each variant keeps its own column type and reads it
+ * through {@link #start}, {@link #end} and {@link #maxEnd}, so int intervals are stored as ints.
+ * The max end column is only allocated for trees.
+ */
+abstract class SortedIntervals<T> {
+
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 12;
+
+    interface PairSink<T> {
+        void onPair(T interval1, T interval2);
+    }
+
+    final T[] mIntervals;
+
+    private SortedIntervals(T[] intervals) {
+        mIntervals = intervals;
+    }
+
+    /**
+     * Sorts by packed start&lt;&lt;32|index keys, on the pool if it isn't null
+     */
+    static SortedIntervals<Interval> ofInts(Collection<Interval> intervals, ForkJoinPool pool, boolean withMaxEnds) {
+        Interval[] unsorted = intervals.toArray(new Interval[intervals.size()]);
+        int size = unsorted.length;
+
+        // start in the high half, original index in the low half
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) unsorted[i].getStart() << 32) | i;
+        }
+        if (pool == null) {
+            Arrays.sort(keys);
+        } else {
+            ParallelLongSorter.sort(keys, size, pool);
+        }
+
+        IntColumns sorted = new IntColumns(new Interval[size], withMaxEnds);
+        for (int i = 0; i < size; i++) {
+            Interval interval = unsorted[(int) keys[i]];
+            sorted.mIntervals[i] = interval;
+            sorted.mStarts[i] = interval.getStart();
+            sorted.mEnds[i] = interval.getEnd();
+        }
+        return sorted;
+    }
+
+    /**
+     * Starts need all 64 bits, so they can't be packed with an index; sorts an index permutation
+     * instead, on the pool if it isn't null
+     */
+    static SortedIntervals<LongInterval> ofLongs(Collection<LongInterval> intervals, ForkJoinPool pool, boolean withMaxEnds) {
+        LongInterval[] unsorted = intervals.toArray(new LongInterval[intervals.size()]);
+        int size = unsorted.length;
+
+        long[] starts = new long[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = unsorted[i].getStart();
+        }
+        int[] order = ParallelLongSorter.sortIndices(starts, size, pool);
+
+        LongColumns sorted = new LongColumns(new LongInterval[size], withMaxEnds);
+        for (int i = 0; i < size; i++) {
+            LongInterval interval = unsorted[order[i]];
+            sorted.mIntervals[i] = interval;
+            sorted.mStarts[i] = interval.getStart();
+            sorted.mEnds[i] = interval.getEnd();
+        }
+        return sorted;
+    }
+
+    int size() {
+        return mIntervals.length;
+    }
+
+    abstract long start(int index);
+
+    abstract long end(int index);
+
+    abstract long maxEnd(int index);
+
+    abstract void setMaxEnd(int index, long maxEnd);
+
+    /**
+     * Reports the pairs owned by intervals in [from, to): each interval owns the pairs it forms
+     * with the intervals that start after it and before its end. The inner scan may run past "to",
+     * which is how pairs that cross partition boundaries are found by exactly one partition.
+     */
+    void sweep(int from, int to, PairSink<T> sink) {
+        int size = mIntervals.length;
+        for (int i = from; i < to; i++) {
+            long end = end(i);
+            for (int j = i + 1; j < size && start(j) < end; j++) {
+                sink.onPair(mIntervals[i], mIntervals[j]);
+            }
+        }
+    }
+
+    void sweepParallel(PairSink<T> sink, ForkJoinPool pool) {
+        pool.invoke(new SweepTask<>(this, 0, mIntervals.length, sink));
+    }
+
+    private static class IntColumns extends SortedIntervals<Interval> {
+
+        private final int[] mStarts;
+        private final int[] mEnds;
+        private final int[] mMaxEnds;
+
+        IntColumns(Interval[] intervals, boolean withMaxEnds) {
+            super(intervals);
+            mStarts = new int[intervals.length];
+            mEnds = new int[intervals.length];
+            mMaxEnds = withMaxEnds ? new int[intervals.length] : null;
+        }
+
+        @Override
+        long start(int index) {
+            return mStarts[index];
+        }
+
+        @Override
+        long end(int index) {
+            return mEnds[index];
+        }
+
+        @Override
+        long maxEnd(int index) {
+            return mMaxEnds[index];
+        }
+
+        @Override
+        void setMaxEnd(int index, long maxEnd) {
+            // always one of the int ends
+            mMaxEnds[index] = (int) maxEnd;
+        }
+    }
+
+    private static class LongColumns extends SortedIntervals<LongInterval> {
+
+        private final long[] mStarts;
+        private final long[] mEnds;
+        private final long[] mMaxEnds;
+
+        LongColumns(LongInterval[] intervals, boolean withMaxEnds) {
+            super(intervals);
+            mStarts = new long[intervals.length];
+            mEnds = new long[intervals.length];
+            mMaxEnds = withMaxEnds ? new long[intervals.length] : null;
+        }
+
+        @Override
+        long start(int index) {
+            return mStarts[index];
+        }
+
+        @Override
+        long end(int index) {
+            return mEnds[index];
+        }
+
+        @Override
+        long maxEnd(int index) {
+            return mMaxEnds[index];
+        }
+
+        @Override
+        void setMaxEnd(int index, long maxEnd) {
+            mMaxEnds[index] = maxEnd;
+        }
+    }
+
+    private static class SweepTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SortedIntervals<T> mSorted;
+        private final int mFrom;
+        private final int mTo;
+        private final PairSink<T> mSink;
+
+        SweepTask(SortedIntervals<T> sorted, int from, int to, PairSink<T> sink) {
+            mSorted = sorted;
+            mFrom = from;
+            mTo = to;
+            mSink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom <= PARALLEL_CHUNK_SIZE) {
+                mSorted.sweep(mFrom, mTo, mSink);
+                return;
+            }
+            int mid = (mFrom + mTo) >>> 1;
+            invokeAll(new SweepTask<>(mSorted, mFrom, mid, mSink), new SweepTask<>(mSorted, mid, mTo, mSink));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+public interface StabbingListener {
+
+    void onIntervalContaining(int point, Interval interval);
+
+}
@@ -0,0 +1,52 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+/**
+ * Push-based coalescer for intervals arriving sorted by start. Overlapping (per
+ * {@link IntervalsOverlapDetector}) and adjacent intervals are merged, and every merged interval
+ * is passed to the listener as soon as it can no longer grow. Uses O(1) memory.
+ */
+public class StreamingIntervalsCoalescer {
+
+    private final IntervalBoundsListener mListener;
+
+    private boolean mHasPending;
+    private int mPendingStart;
+    private int mPendingEnd;
+
+    public StreamingIntervalsCoalescer(IntervalBoundsListener listener) {
+        mListener = listener;
+    }
+
+    public void add(int start, int end) {
+        if (start >= end) {
+            throw new IllegalArgumentException("invalid interval range");
+        }
+        if (!mHasPending) {
+            mHasPending = true;
+            mPendingStart = start;
+            mPendingEnd = end;
+        } else if (start < mPendingStart) {
+            throw new IllegalArgumentException("intervals not sorted by start");
+        } else if (start <= mPendingEnd) {
+            mPendingEnd = Math.max(mPendingEnd, end);
+        } else {
+            mListener.onInterval(mPendingStart, mPendingEnd);
+            mPendingStart = start;
+            mPendingEnd = end;
+        }
+    }
+
+    public void add(Interval interval) {
+        add(interval.getStart(), interval.getEnd());
+    }
+
+    /**
+     * Emits the interval that is still being merged. Call once the input is exhausted.
+     */
+    public void flush() {
+        if (mHasPending) {
+            mHasPending = false;
+            mListener.onInterval(mPendingStart, mPendingEnd);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.techyourchance.unittestingfundamentals.exercise2;
+
+/**
+ * Lazy view of a char sequence repeated count times: created in O(1) and computing each char on
+ * demand from the source, which may be another view. The source must not change while the view is
+ * in use.
+ */
+public class RepeatedView implements CharSequence {
+
+    private final CharSequence mSource;
+    private final int mSourceLength;
+    private final int mCount;
+    private final int mLength;
+
+    private String mString;
+
+    /**
+     * @throws IllegalArgumentException if count is negative or the repeated length overflows int
+     */
+    public RepeatedView(CharSequence source, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count");
+        }
+        long length = (long) source.length() * count;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("repeated length too large: " + length);
+        }
+        mSource = source;
+        mSourceLength = source.length();
+        mCount = count;
+        mLength = (int) length;
+    }
+
+    @Override
+    public int length() {
+        return mLength;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= mLength) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + mLength);
+        }
+        return mSource.charAt(index % mSourceLength);
+    }
+
+    /**
+     * Copies only the requested range, so the cost is O(end - start) rather than the whole view
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        int length = length();
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+        }
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = charAt(start + i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Materializes the view on the first call and returns the cached string afterwards
+     */
+    @Override
+    public String toString() {
+        if (mString == null) {
+            mString = new StringDuplicator().repeat(mSource, mCount);
+        }
+        return mString;
+    }
+}
@@ -1,7 +1,15 @@
 package com.techyourchance.unittestingfundamentals.exercise2;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
 public class StringDuplicator {
 
+    // streaming variants write blocks of repeats of about this many chars or bytes at a time
+    private static final int STREAMING_BLOCK_SIZE = 1 << 13;
+
     /**
      * @return concatenation of the argument with itself e.g. "hi" -> "hihi"
      */
@@ -10,4 +18,95 @@ public class StringDuplicator {
         return string + string;
     }
 
+    /**
+     * Fills an exactly presized buffer by copying the source once and then doubling the filled
+     * part with {@link System#arraycopy}, which takes O(log count) copy calls
+     * <p>
+     * The String constructor can't adopt the filled buffer, so the result is copied once more.
+     * Peak memory is therefore twice the result. Callers that only write or read the result can
+     * skip both copies with {@link #repeat(CharSequence, int, Writer)} or {@link RepeatedView}.
+     * @return concatenation of count copies of the source e.g. ("hi", 3) -> "hihihi"
+     * @throws IllegalArgumentException if count is negative or the result would be longer than
+     *         Integer.MAX_VALUE chars
+     */
+    public String repeat(CharSequence source, int count) {
+        return new String(repeatToArray(source, count));
+    }
+
+    /**
+     * Writes count copies of the source to the writer without materializing the whole result.
+     * Memory use doesn't depend on count and the total length isn't limited.
+     */
+    public void repeat(CharSequence source, int count, Writer out) throws IOException {
+        checkCount(count);
+        int length = source.length();
+        if (length == 0 || count == 0) {
+            return;
+        }
+        int perBlock = Math.min(count, Math.max(1, STREAMING_BLOCK_SIZE / length));
+        char[] block = repeatToArray(source, perBlock);
+        for (int remaining = count; remaining > 0; remaining -= perBlock) {
+            out.write(block, 0, Math.min(remaining, perBlock) * length);
+        }
+    }
+
+    /**
+     * Same as {@link #repeat(CharSequence, int, Writer)} for a byte stream. The source is encoded
+     * once and its bytes are repeated, so the charset should be one that doesn't write a byte order
+     * mark, such as UTF-8.
+     */
+    public void repeat(CharSequence source, int count, OutputStream out, Charset charset) throws IOException {
+        checkCount(count);
+        byte[] bytes = source.toString().getBytes(charset);
+        if (bytes.length == 0 || count == 0) {
+            return;
+        }
+        int perBlock = Math.min(count, Math.max(1, STREAMING_BLOCK_SIZE / bytes.length));
+        byte[] block = new byte[perBlock * bytes.length];
+        System.arraycopy(bytes, 0, block, 0, bytes.length);
+        fillByDoubling(block, bytes.length, block.length);
+        for (int remaining = count; remaining > 0; remaining -= perBlock) {
+            out.write(block, 0, Math.min(remaining, perBlock) * bytes.length);
+        }
+    }
+
+    private char[] repeatToArray(CharSequence source, int count) {
+        checkCount(count);
+        int length = source.length();
+        long total = (long) length * count;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("repeated length too large: " + total);
+        }
+        char[] result = new char[(int) total];
+        if (total == 0) {
+            return result;
+        }
+        if (source instanceof String) {
+            ((String) source).getChars(0, length, result, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                result[i] = source.charAt(i);
+            }
+        }
+        fillByDoubling(result, length, result.length);
+        return result;
+    }
+
+    /**
+     * Fills the first total elements of the char or byte array by repeating its first filled ones
+     */
+    private void fillByDoubling(Object array, int filled, int total) {
+        while (filled < total) {
+            int copied = Math.min(filled, total - filled);
+            System.arraycopy(array, 0, array, filled, copied);
+            filled += copied;
+        }
+    }
+
+    private void checkCount(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count");
+        }
+    }
+
 }
@@ -0,0 +1,101 @@
+package com.techyourchance.unittestingfundamentals.exercise3;
+
+import com.techyourchance.unittestingfundamentals.example3.Interval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Batch counterpart of {@link IntervalsAdjacencyDetector}. Intervals are indexed by their start
+ * and end points in primitive hash maps, so all adjacent pairs and chains are found in O(n + k)
+ * expected time instead of O(n^2) calls to {@link IntervalsAdjacencyDetector#isAdjacent}.
+ * Identical intervals are never adjacent, same as in {@link IntervalsAdjacencyDetector}.
+ */
+public class AdjacentIntervalsFinder {
+
+    private static final int NONE = IntIntHashMap.NO_VALUE;
+
+    /**
+     * Reports every adjacent pair exactly once, earlier interval first
+     */
+    public void findAdjacentPairs(List<Interval> intervals, AdjacentPairListener listener) {
+        PointsIndex index = new PointsIndex(intervals);
+        for (int i = 0; i < index.mIntervals.length; i++) {
+            for (int j = index.firstStartingAt(index.mIntervals[i].getEnd()); j != NONE; j = index.mNextByStart[j]) {
+                listener.onAdjacentPair(index.mIntervals[i], index.mIntervals[j]);
+            }
+        }
+    }
+
+    /**
+     * Links intervals back to back wherever the link is unambiguous, i.e. exactly one interval
+     * ends and exactly one interval starts at the shared point. A point where several intervals
+     * end or start breaks the chains passing through it.
+     * @return maximal chains of at least two intervals, each ordered from earliest to latest
+     */
+    public List<List<Interval>> findAdjacencyChains(List<Interval> intervals) {
+        PointsIndex index = new PointsIndex(intervals);
+        int size = index.mIntervals.length;
+
+        int[] successors = new int[size];
+        boolean[] hasPredecessor = new boolean[size];
+        Arrays.fill(successors, NONE);
+        for (int i = 0; i < size; i++) {
+            int end = index.mIntervals[i].getEnd();
+            int next = index.firstStartingAt(end);
+            if (next != NONE && index.mNextByStart[next] == NONE
+                    && index.mNextByEnd[index.firstEndingAt(end)] == NONE) {
+                successors[i] = next;
+                hasPredecessor[next] = true;
+            }
+        }
+
+        List<List<Interval>> chains = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (hasPredecessor[i] || successors[i] == NONE) {
+                continue;
+            }
+            List<Interval> chain = new ArrayList<>();
+            for (int j = i; j != NONE; j = successors[j]) {
+                chain.add(index.mIntervals[j]);
+            }
+            chains.add(chain);
+        }
+        return chains;
+    }
+
+    /**
+     * Intervals sharing a start (or an end) point form a linked list threaded through the "next"
+     * arrays; the maps hold the head of each list.
+     */
+    private static class PointsIndex {
+
+        private final Interval[] mIntervals;
+        private final IntIntHashMap mFirstByStart;
+        private final IntIntHashMap mFirstByEnd;
+        private final int[] mNextByStart;
+        private final int[] mNextByEnd;
+
+        PointsIndex(List<Interval> intervals) {
+            mIntervals = intervals.toArray(new Interval[intervals.size()]);
+            int size = mIntervals.length;
+            mFirstByStart = new IntIntHashMap(size);
+            mFirstByEnd = new IntIntHashMap(size);
+            mNextByStart = new int[size];
+            mNextByEnd = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                mNextByStart[i] = mFirstByStart.put(mIntervals[i].getStart(), i);
+                mNextByEnd[i] = mFirstByEnd.put(mIntervals[i].getEnd(), i);
+            }
+        }
+
+        int firstStartingAt(int point) {
+            return mFirstByStart.get(point);
+        }
+
+        int firstEndingAt(int point) {
+            return mFirstByEnd.get(point);
+        }
+    }
+}
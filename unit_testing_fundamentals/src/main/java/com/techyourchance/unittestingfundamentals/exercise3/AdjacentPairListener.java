@@ -0,0 +1,13 @@
+package com.techyourchance.unittestingfundamentals.exercise3;
+
+import com.techyourchance.unittestingfundamentals.example3.Interval;
+
+public interface AdjacentPairListener {
+
+    /**
+     * @param earlier interval which ends where the other one starts
+     * @param later interval which starts where the other one ends
+     */
+    void onAdjacentPair(Interval earlier, Interval later);
+
+}
@@ -0,0 +1,64 @@
+package com.techyourchance.unittestingfundamentals.exercise3;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing map from int keys to non-negative int values. Sized once for the
+ * expected number of keys, so it never resizes and never boxes.
+ */
+class IntIntHashMap {
+
+    static final int NO_VALUE = -1;
+
+    private final int[] mKeys;
+    private final int[] mValues;
+    private final int mMask;
+
+    IntIntHashMap(int expectedSize) {
+        int capacity = 2;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        mKeys = new int[capacity];
+        mValues = new int[capacity];
+        mMask = capacity - 1;
+        Arrays.fill(mValues, NO_VALUE);
+    }
+
+    /**
+     * @return the value mapped to the key, or {@link #NO_VALUE}
+     */
+    int get(int key) {
+        int slot = slot(key);
+        while (mValues[slot] != NO_VALUE) {
+            if (mKeys[slot] == key) {
+                return mValues[slot];
+            }
+            slot = (slot + 1) & mMask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * @return the value previously mapped to the key, or {@link #NO_VALUE}
+     */
+    int put(int key, int value) {
+        int slot = slot(key);
+        while (mValues[slot] != NO_VALUE) {
+            if (mKeys[slot] == key) {
+                int previous = mValues[slot];
+                mValues[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mMask;
+        }
+        mKeys[slot] = key;
+        mValues[slot] = value;
+        return NO_VALUE;
+    }
+
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mMask;
+    }
+}
@@ -1,22 +1,31 @@
 package com.techyourchance.unittestingfundamentals.exercise3;
 
+import com.techyourchance.unittestingfundamentals.example3.AllenRelationClassifier;
 import com.techyourchance.unittestingfundamentals.example3.Interval;
+import com.techyourchance.unittestingfundamentals.example3.IntervalArray;
 
 public class IntervalsAdjacencyDetector {
 
+    private final AllenRelationClassifier mClassifier = new AllenRelationClassifier();
+
     /**
      * @return true if the intervals are adjacent, but don't overlap
      */
     public boolean isAdjacent(Interval interval1, Interval interval2) {
-        // this implementation contains two bugs:
-        // 1. will erroneously report adjacent if interval1 and interval2 are the same - fixed
-        // 2. will erroneously report adjacent if interval1 after interval2
-        return (interval1.getEnd() == interval2.getStart() || interval1.getStart() == interval2.getEnd())
-                && !isSameIntervals(interval1, interval2);
+        return isAdjacentRelation(mClassifier.classify(interval1, interval2));
+    }
+
+    /**
+     * Same check as {@link #isAdjacent(Interval, Interval)} for intervals stored in packed arrays,
+     * without allocating {@link Interval} objects
+     */
+    public boolean isAdjacent(IntervalArray intervals1, int index1, IntervalArray intervals2, int index2) {
+        return isAdjacentRelation(mClassifier.classify(intervals1.getStart(index1), intervals1.getEnd(index1),
+                intervals2.getStart(index2), intervals2.getEnd(index2)));
     }
 
-    private boolean isSameIntervals(Interval interval1, Interval interval2) {
-        return interval1.getStart() == interval2.getStart() && interval1.getEnd() == interval2.getEnd();
+    private boolean isAdjacentRelation(byte relation) {
+        return relation == AllenRelationClassifier.MEETS || relation == AllenRelationClassifier.MET_BY;
     }
 
 }
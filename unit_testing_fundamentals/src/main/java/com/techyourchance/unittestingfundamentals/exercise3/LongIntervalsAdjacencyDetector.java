@@ -0,0 +1,31 @@
+package com.techyourchance.unittestingfundamentals.exercise3;
+
+import com.techyourchance.unittestingfundamentals.example3.LongInterval;
+import com.techyourchance.unittestingfundamentals.example3.LongIntervalArray;
+
+/**
+ * {@link IntervalsAdjacencyDetector} for 64-bit intervals
+ */
+public class LongIntervalsAdjacencyDetector {
+
+    /**
+     * @return true if the intervals are adjacent, but don't overlap
+     */
+    public boolean isAdjacent(LongInterval interval1, LongInterval interval2) {
+        return isAdjacent(interval1.getStart(), interval1.getEnd(), interval2.getStart(), interval2.getEnd());
+    }
+
+    /**
+     * Same check as {@link #isAdjacent(LongInterval, LongInterval)} for intervals stored in packed
+     * arrays, without allocating {@link LongInterval} objects
+     */
+    public boolean isAdjacent(LongIntervalArray intervals1, int index1, LongIntervalArray intervals2, int index2) {
+        return isAdjacent(intervals1.getStart(index1), intervals1.getEnd(index1),
+                intervals2.getStart(index2), intervals2.getEnd(index2));
+    }
+
+    private boolean isAdjacent(long start1, long end1, long start2, long end2) {
+        return (end1 == start2 || start1 == end2) && !(start1 == start2 && end1 == end2);
+    }
+
+}
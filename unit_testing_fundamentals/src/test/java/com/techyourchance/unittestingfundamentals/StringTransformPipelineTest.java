@@ -0,0 +1,139 @@
+package com.techyourchance.unittestingfundamentals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class StringTransformPipelineTest {
+
+    ExecutorService mExecutor;
+    StringTransformPipeline SUT;
+
+    @Before
+    public void setup() throws Exception {
+        mExecutor = Executors.newFixedThreadPool(4);
+        SUT = new StringTransformPipeline(StringTransforms.reverse(), StringTransforms.repeat(2));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mExecutor.shutdownNow();
+    }
+
+    @Test
+    public void apply_noTransforms_sameStringReturned() throws Exception {
+        String result = new StringTransformPipeline().apply("abc");
+        assertThat(result, is("abc"));
+    }
+
+    @Test
+    public void apply_chainedTransforms_appliedInOrder() throws Exception {
+        String result = SUT.apply("abc");
+        assertThat(result, is("cbacba"));
+    }
+
+    @Test
+    public void apply_threeTransforms_appliedInOrder() throws Exception {
+        String result = SUT.then(StringTransforms.reverse()).apply("abc");
+        assertThat(result, is("abcabc"));
+    }
+
+    @Test
+    public void apply_consecutiveRecords_buffersNotLeakedBetweenRecords() throws Exception {
+        SUT.apply("a long record");
+        String result = SUT.apply("ab");
+        assertThat(result, is("baba"));
+    }
+
+    @Test
+    public void then_originalPipelineUnchanged() throws Exception {
+        SUT.then(StringTransforms.repeat(0));
+        String result = SUT.apply("ab");
+        assertThat(result, is("baba"));
+    }
+
+    @Test
+    public void run_manyChunks_resultsInInputOrder() throws Exception {
+        List<String> records = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            records.add("record" + i);
+            expected.add(SUT.apply("record" + i));
+        }
+        List<String> result = runAndCollect(records, 2);
+        assertThat(result, is(expected));
+    }
+
+    @Test
+    public void run_noRecords_nothingEmitted() throws Exception {
+        List<String> result = runAndCollect(Collections.<String>emptyList(), 2);
+        assertThat(result.size(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void run_noChunksInFlight_exceptionThrown() throws Exception {
+        runAndCollect(Arrays.asList("a"), 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void run_transformThrows_exceptionRethrown() throws Exception {
+        StringTransformPipeline pipeline = SUT.then(new StringTransform() {
+            @Override
+            public void apply(CharSequence input, StringBuilder output) {
+                if (input.length() > 6) {
+                    throw new IllegalStateException();
+                }
+                output.append(input);
+            }
+        });
+        pipeline.run(Arrays.asList("a", "b", "abcd").iterator(), mExecutor, 1, new TransformedRecordListener() {
+            @Override
+            public void onTransformedRecord(String record) {
+            }
+        });
+    }
+
+    @Test
+    public void run_lines_transformedLinesWrittenInOrder() throws Exception {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            input.append("line").append(i).append('\n');
+            expected.append(SUT.apply("line" + i)).append('\n');
+        }
+        StringWriter output = new StringWriter();
+        SUT.run(new BufferedReader(new StringReader(input.toString())), output, mExecutor, 3);
+        assertThat(output.toString(), is(expected.toString()));
+    }
+
+    @Test
+    public void run_emptyInput_nothingWritten() throws Exception {
+        StringWriter output = new StringWriter();
+        SUT.run(new BufferedReader(new StringReader("")), output, mExecutor, 3);
+        assertThat(output.toString(), is(""));
+    }
+
+    private List<String> runAndCollect(List<String> records, int maxChunksInFlight) throws Exception {
+        final List<String> result = new ArrayList<>();
+        SUT.run(records.iterator(), mExecutor, maxChunksInFlight, new TransformedRecordListener() {
+            @Override
+            public void onTransformedRecord(String record) {
+                result.add(record);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+package com.techyourchance.unittestingfundamentals;
+
+import com.techyourchance.unittestingfundamentals.example2.StringReverser;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class StringTransformsTest {
+
+    @Test
+    public void reverse_combiningMarksAndCrLf_sameResultAsStringReverser() throws Exception {
+        String input = "ae\u0301\r\no\u0308";
+        String result = apply(StringTransforms.reverse(), input);
+        assertThat(result, is(new StringReverser().reverse(input)));
+    }
+
+    @Test
+    public void reverse_nonEmptyOutput_reversedInputAppended() throws Exception {
+        StringBuilder output = new StringBuilder("x");
+        StringTransforms.reverse().apply("abc", output);
+        assertThat(output.toString(), is("xcba"));
+    }
+
+    @Test
+    public void repeat_count_inputRepeatedCountTimes() throws Exception {
+        String result = apply(StringTransforms.repeat(3), "ab");
+        assertThat(result, is("ababab"));
+    }
+
+    @Test
+    public void repeat_zeroCount_nothingAppended() throws Exception {
+        String result = apply(StringTransforms.repeat(0), "ab");
+        assertThat(result, is(""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void repeat_negativeCount_exceptionThrown() throws Exception {
+        StringTransforms.repeat(-1);
+    }
+
+    private String apply(StringTransform transform, String input) {
+        StringBuilder output = new StringBuilder();
+        transform.apply(input, output);
+        return output.toString();
+    }
+}
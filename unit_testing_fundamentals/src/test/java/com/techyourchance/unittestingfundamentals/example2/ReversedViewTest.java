@@ -0,0 +1,66 @@
+package com.techyourchance.unittestingfundamentals.example2;
+
+import com.techyourchance.unittestingfundamentals.exercise2.RepeatedView;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ReversedViewTest {
+
+    ReversedView SUT;
+
+    @Test
+    public void charAt_longString_reversedCharsReturned() throws Exception {
+        SUT = new ReversedView("Vasiliy Zukanov");
+        assertThat(SUT.length(), is(15));
+        assertThat(SUT.charAt(0), is('v'));
+        assertThat(SUT.charAt(14), is('V'));
+    }
+
+    @Test
+    public void charAt_surrogatePairs_pairsKeptInOrder() throws Exception {
+        SUT = new ReversedView("a\uD83D\uDE00b");
+        assertThat(SUT.charAt(1), is('\uD83D'));
+        assertThat(SUT.charAt(2), is('\uDE00'));
+        assertThat(SUT.toString(), is("b\uD83D\uDE00a"));
+    }
+
+    @Test
+    public void charAt_unpairedSurrogates_charsReversed() throws Exception {
+        SUT = new ReversedView("\uDE00a\uD83D");
+        assertThat(SUT.toString(), is("\uD83Da\uDE00"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void charAt_indexPastEnd_exceptionThrown() throws Exception {
+        SUT = new ReversedView("abc");
+        SUT.charAt(3);
+    }
+
+    @Test
+    public void subSequence_range_reversedRangeReturned() throws Exception {
+        SUT = new ReversedView("Vasiliy Zukanov");
+        assertThat(SUT.subSequence(0, 7).toString(), is("vonakuZ"));
+    }
+
+    @Test
+    public void toString_calledTwice_cachedStringReturned() throws Exception {
+        SUT = new ReversedView("abc");
+        assertThat(SUT.toString(), sameInstance(SUT.toString()));
+    }
+
+    @Test
+    public void toString_reversedRepeatedView_composedResultReturned() throws Exception {
+        SUT = new ReversedView(new RepeatedView("ab", 3));
+        assertThat(SUT.toString(), is("bababa"));
+    }
+
+    @Test
+    public void toString_reversedTwice_originalReturned() throws Exception {
+        SUT = new ReversedView(new ReversedView("a\uD83D\uDE00bc"));
+        assertThat(SUT.toString(), is("a\uD83D\uDE00bc"));
+    }
+}
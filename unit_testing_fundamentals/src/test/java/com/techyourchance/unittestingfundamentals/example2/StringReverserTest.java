@@ -5,6 +5,14 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.BreakIterator;
+import java.util.Arrays;
+import java.util.Random;
+
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
 
@@ -34,4 +42,140 @@ public class StringReverserTest {
         String result = SUT.reverse("Vasiliy Zukanov");
         assertThat(result, is("vonakuZ yilisaV"));
     }
+
+    @Test
+    public void reverse_surrogatePairs_pairsKeptInOrder() throws Exception {
+        String result = SUT.reverse("a\uD83D\uDE00b\uD83D\uDC4D");
+        assertThat(result, is("\uD83D\uDC4Db\uD83D\uDE00a"));
+    }
+
+    @Test
+    public void reverse_combiningMarks_marksKeptAfterBaseCharacters() throws Exception {
+        String result = SUT.reverse("ae\u0301o\u0308");
+        assertThat(result, is("o\u0308e\u0301a"));
+    }
+
+    @Test
+    public void reverse_crLf_lineBreakKeptInOrder() throws Exception {
+        String result = SUT.reverse("ab\r\ncd");
+        assertThat(result, is("dc\r\nba"));
+    }
+
+    @Test
+    public void reverse_latin1String_reversedStringReturned() throws Exception {
+        String result = SUT.reverse("na\u00EFve caf\u00E9");
+        assertThat(result, is("\u00E9fac ev\u00EFan"));
+    }
+
+    @Test
+    public void reverse_cyrillicString_reversedStringReturned() throws Exception {
+        String result = SUT.reverse("\u043C\u0438\u0440 \u0434\u043E\u043C");
+        assertThat(result, is("\u043C\u043E\u0434 \u0440\u0438\u043C"));
+    }
+
+    @Test
+    public void reverse_combiningMarkAfterSingleCharClusters_markKeptAfterBaseCharacter() throws Exception {
+        String result = SUT.reverse("\u043C\u0438\u0301\u0440");
+        assertThat(result, is("\u0440\u0438\u0301\u043C"));
+    }
+
+    @Test
+    public void reverse_combiningMarkFirst_markKeptInPlace() throws Exception {
+        String result = SUT.reverse("\u0301ab");
+        assertThat(result, is("ba\u0301"));
+    }
+
+    @Test
+    public void reverse_randomMixedScripts_sameResultAsBreakIterator() throws Exception {
+        char[] alphabet = "ab\r\n\u00E9\u043C\u03B1\u4E2D\u0301\u0308\u200D\uFE0F\u1100\u1161\u11A8\uAC00\uD83D\uDE00"
+                .toCharArray();
+        Random random = new Random(21);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder string = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                string.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertThat(SUT.reverse(string.toString()), is(reverseWithBreakIterator(string.toString())));
+        }
+    }
+
+    @Test
+    public void reverse_intoStringBuilder_sameResultAsReverseAppended() throws Exception {
+        String[] sources = {"", "Vasiliy Zukanov", "\u043C\u0438\u0301\u0440", "ab\r\ncd", "a\uD83D\uDE00b", "\u0301ab"};
+        for (String source : sources) {
+            StringBuilder destination = new StringBuilder("x");
+            SUT.reverse(new StringBuilder(source), destination);
+            assertThat(destination.toString(), is("x" + SUT.reverse(source)));
+        }
+    }
+
+    @Test
+    public void reverse_intoCharArrayAtOffset_reversedCharsWritten() throws Exception {
+        char[] destination = "xxxxxxxx".toCharArray();
+        SUT.reverse("a\uD83D\uDE00bc", destination, 2);
+        assertThat(new String(destination), is("xxcb\uD83D\uDE00ax"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void reverse_charArrayTooShort_exceptionThrown() throws Exception {
+        SUT.reverse("abc", new char[4], 2);
+    }
+
+    @Test
+    public void reverse_intoHeapCharBuffer_reversedCharsWrittenAndPositionAdvanced() throws Exception {
+        CharBuffer destination = CharBuffer.allocate(10);
+        destination.put('x');
+        SUT.reverse("a\uD83D\uDE00b", destination);
+        assertThat(destination.position(), is(5));
+        destination.flip();
+        assertThat(destination.toString(), is("xb\uD83D\uDE00a"));
+    }
+
+    @Test
+    public void reverse_intoDirectCharBuffer_reversedCharsWritten() throws Exception {
+        CharBuffer destination = ByteBuffer.allocateDirect(8).asCharBuffer();
+        SUT.reverse("a\uD83D\uDE00b", destination);
+        destination.flip();
+        assertThat(destination.toString(), is("b\uD83D\uDE00a"));
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void reverse_charBufferTooShort_exceptionThrown() throws Exception {
+        SUT.reverse("abc", CharBuffer.allocate(2));
+    }
+
+    @Test
+    public void reverseLatin1_rangeInsideArrays_reversedBytesWrittenToRange() throws Exception {
+        byte[] source = "--Vasiliy Zukanov--".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] destination = new byte[17];
+        SUT.reverseLatin1(source, 2, 15, destination, 1);
+        assertThat(new String(Arrays.copyOfRange(destination, 1, 16), StandardCharsets.ISO_8859_1), is("vonakuZ yilisaV"));
+        assertThat(destination[0], is((byte) 0));
+        assertThat(destination[16], is((byte) 0));
+    }
+
+    @Test
+    public void reverseLatin1_shortLengths_sameResultAsReverse() throws Exception {
+        StringBuilder string = new StringBuilder();
+        for (int length = 0; length <= 24; length++) {
+            byte[] source = string.toString().getBytes(StandardCharsets.ISO_8859_1);
+            byte[] destination = new byte[length];
+            SUT.reverseLatin1(source, 0, length, destination, 0);
+            assertThat(new String(destination, StandardCharsets.ISO_8859_1), is(SUT.reverse(string.toString())));
+            string.append((char) ('a' + length));
+        }
+    }
+
+    private String reverseWithBreakIterator(String string) {
+        BreakIterator clusters = BreakIterator.getCharacterInstance();
+        clusters.setText(string);
+        StringBuilder reversed = new StringBuilder();
+        int end = clusters.last();
+        for (int start = clusters.previous(); start != BreakIterator.DONE; start = clusters.previous()) {
+            reversed.append(string, start, end);
+            end = start;
+        }
+        return reversed.toString();
+    }
 }
\ No newline at end of file
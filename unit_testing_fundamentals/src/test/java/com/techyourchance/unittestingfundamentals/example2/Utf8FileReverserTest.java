@@ -0,0 +1,115 @@
+package com.techyourchance.unittestingfundamentals.example2;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Utf8FileReverserTest {
+
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    Utf8FileReverser SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new Utf8FileReverser();
+    }
+
+    @Test
+    public void reverse_emptyFile_emptyOutput() throws Exception {
+        String result = reverse("");
+        assertThat(result, is(""));
+    }
+
+    @Test
+    public void reverse_asciiFile_reversedOutput() throws Exception {
+        String result = reverse("Vasiliy Zukanov");
+        assertThat(result, is("vonakuZ yilisaV"));
+    }
+
+    @Test
+    public void reverse_multiByteCodePoints_codePointsKeptWhole() throws Exception {
+        String result = reverse("a\u00E9\u20AC\uD83D\uDE00b");
+        assertThat(result, is("b\uD83D\uDE00\u20AC\u00E9a"));
+    }
+
+    @Test
+    public void reverse_sequencesStraddlingChunks_sameResultForAllChunkSizes() throws Exception {
+        String text = randomText(new Random(22), 500);
+        String expected = new StringBuilder(text).reverse().toString();
+        for (int chunkSize = 4; chunkSize <= 16; chunkSize++) {
+            SUT = new Utf8FileReverser(chunkSize);
+            assertThat(reverse(text), is(expected));
+        }
+    }
+
+    @Test
+    public void reverse_outputLongerThanOutputBuffer_wholeFileReversed() throws Exception {
+        String text = randomText(new Random(23), 100000);
+        SUT = new Utf8FileReverser(1000);
+        String result = reverse(text);
+        assertThat(result, is(new StringBuilder(text).reverse().toString()));
+    }
+
+    @Test
+    public void reverse_strayContinuationBytes_bytesCopiedAlone() throws Exception {
+        byte[] bytes = {'a', (byte) 0x80, (byte) 0x81, (byte) 0x82, (byte) 0x83, (byte) 0x84, 'b'};
+        byte[] result = reverse(bytes);
+        assertThat(result, is(new byte[] {'b', (byte) 0x84, (byte) 0x83, (byte) 0x82, (byte) 0x81, (byte) 0x80, 'a'}));
+    }
+
+    @Test
+    public void reverse_intoFile_reversedFileWritten() throws Exception {
+        File input = writeInput("x\u00E9y".getBytes(StandardCharsets.UTF_8));
+        File output = new File(mTemporaryFolder.getRoot(), "output");
+        SUT.reverse(input, output);
+        assertThat(new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8), is("y\u00E9x"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_chunkShorterThanLongestSequence_exceptionThrown() throws Exception {
+        new Utf8FileReverser(3);
+    }
+
+    private String randomText(Random random, int codePoints) {
+        int[] samples = {'a', 'z', ' ', 0xE9, 0x3B1, 0x20AC, 0x4E2D, 0x1F600, 0x10348};
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < codePoints; i++) {
+            text.appendCodePoint(samples[random.nextInt(samples.length)]);
+        }
+        return text.toString();
+    }
+
+    private String reverse(String text) throws IOException {
+        return new String(reverse(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+    private byte[] reverse(byte[] bytes) throws IOException {
+        File input = writeInput(bytes);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SUT.reverse(input, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private File writeInput(byte[] bytes) throws IOException {
+        File input = mTemporaryFolder.newFile();
+        try (FileOutputStream out = new FileOutputStream(input)) {
+            out.write(bytes);
+        }
+        return input;
+    }
+}
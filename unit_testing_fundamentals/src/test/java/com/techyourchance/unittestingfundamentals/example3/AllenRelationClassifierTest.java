@@ -0,0 +1,139 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AllenRelationClassifierTest {
+
+    AllenRelationClassifier SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new AllenRelationClassifier();
+    }
+
+    @Test
+    public void classify_interval1BeforeInterval2_beforeReturned() throws Exception {
+        assertRelation(new Interval(-1, 5), new Interval(8, 12), AllenRelationClassifier.BEFORE);
+    }
+
+    @Test
+    public void classify_interval1EndsAtStartOfInterval2_meetsReturned() throws Exception {
+        assertRelation(new Interval(-1, 5), new Interval(5, 12), AllenRelationClassifier.MEETS);
+    }
+
+    @Test
+    public void classify_interval1OverlapsInterval2OnStart_overlapsReturned() throws Exception {
+        assertRelation(new Interval(-1, 5), new Interval(3, 12), AllenRelationClassifier.OVERLAPS);
+    }
+
+    @Test
+    public void classify_interval1ContainsInterval2WithSameEnd_finishedByReturned() throws Exception {
+        assertRelation(new Interval(-1, 5), new Interval(3, 5), AllenRelationClassifier.FINISHED_BY);
+    }
+
+    @Test
+    public void classify_interval1ContainsInterval2_containsReturned() throws Exception {
+        assertRelation(new Interval(-1, 12), new Interval(3, 5), AllenRelationClassifier.CONTAINS);
+    }
+
+    @Test
+    public void classify_interval1ContainedWithinInterval2WithSameStart_startsReturned() throws Exception {
+        assertRelation(new Interval(-1, 5), new Interval(-1, 12), AllenRelationClassifier.STARTS);
+    }
+
+    @Test
+    public void classify_interval1EqualsInterval2_equalsReturned() throws Exception {
+        assertRelation(new Interval(-1, 5), new Interval(-1, 5), AllenRelationClassifier.EQUALS);
+    }
+
+    @Test
+    public void classify_interval1ContainsInterval2WithSameStart_startedByReturned() throws Exception {
+        assertRelation(new Interval(-1, 12), new Interval(-1, 5), AllenRelationClassifier.STARTED_BY);
+    }
+
+    @Test
+    public void classify_interval1ContainedWithinInterval2_duringReturned() throws Exception {
+        assertRelation(new Interval(3, 5), new Interval(-1, 12), AllenRelationClassifier.DURING);
+    }
+
+    @Test
+    public void classify_interval1ContainedWithinInterval2WithSameEnd_finishesReturned() throws Exception {
+        assertRelation(new Interval(3, 12), new Interval(-1, 12), AllenRelationClassifier.FINISHES);
+    }
+
+    @Test
+    public void classify_interval1OverlapsInterval2OnEnd_overlappedByReturned() throws Exception {
+        assertRelation(new Interval(3, 12), new Interval(-1, 5), AllenRelationClassifier.OVERLAPPED_BY);
+    }
+
+    @Test
+    public void classify_interval1StartsAtEndOfInterval2_metByReturned() throws Exception {
+        assertRelation(new Interval(5, 12), new Interval(-1, 5), AllenRelationClassifier.MET_BY);
+    }
+
+    @Test
+    public void classify_interval1AfterInterval2_afterReturned() throws Exception {
+        assertRelation(new Interval(8, 12), new Interval(-1, 5), AllenRelationClassifier.AFTER);
+    }
+
+    @Test
+    public void classify_extremeBounds_noOverflow() throws Exception {
+        assertRelation(new Interval(Integer.MIN_VALUE, 0), new Interval(1, Integer.MAX_VALUE), AllenRelationClassifier.BEFORE);
+        assertRelation(new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE), new Interval(-1, 1), AllenRelationClassifier.CONTAINS);
+    }
+
+    @Test
+    public void classify_randomPairs_inverseRelationForSwappedPair() throws Exception {
+        Random random = new Random(18);
+        for (int i = 0; i < 10000; i++) {
+            Interval interval1 = randomInterval(random);
+            Interval interval2 = randomInterval(random);
+            assertThat(SUT.classify(interval2, interval1), is((byte) (12 - SUT.classify(interval1, interval2))));
+        }
+    }
+
+    @Test
+    public void classify_packedArrays_sameResultAsSinglePairs() throws Exception {
+        Random random = new Random(81);
+        int size = 1000;
+        int[] starts1 = new int[size];
+        int[] ends1 = new int[size];
+        int[] starts2 = new int[size];
+        int[] ends2 = new int[size];
+        for (int i = 0; i < size; i++) {
+            Interval interval1 = randomInterval(random);
+            Interval interval2 = randomInterval(random);
+            starts1[i] = interval1.getStart();
+            ends1[i] = interval1.getEnd();
+            starts2[i] = interval2.getStart();
+            ends2[i] = interval2.getEnd();
+        }
+        byte[] relations = new byte[size - 10];
+        SUT.classify(starts1, ends1, starts2, ends2, 10, size, relations);
+        for (int i = 10; i < size; i++) {
+            assertThat(relations[i - 10], is(SUT.classify(starts1[i], ends1[i], starts2[i], ends2[i])));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void classify_intervalArraysOfDifferentSizes_exceptionThrown() throws Exception {
+        IntervalArray intervals1 = new IntervalArray();
+        intervals1.add(-1, 5);
+        SUT.classify(intervals1, new IntervalArray(), new byte[1]);
+    }
+
+    private Interval randomInterval(Random random) {
+        int start = random.nextInt(20) - 10;
+        return new Interval(start, start + 1 + random.nextInt(10));
+    }
+
+    private void assertRelation(Interval interval1, Interval interval2, byte relation) {
+        assertThat(SUT.classify(interval1, interval2), is(relation));
+    }
+}
@@ -0,0 +1,121 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BoxRTreeTest {
+
+    BoxRTree SUT;
+
+    BoxesOverlapDetector mBoxesOverlapDetector;
+
+    @Before
+    public void setup() throws Exception {
+        mBoxesOverlapDetector = new BoxesOverlapDetector();
+    }
+
+    @Test
+    public void findOverlapping_emptyTree_emptyListReturned() throws Exception {
+        SUT = new BoxRTree(Collections.<Box>emptyList());
+        assertThat(SUT.findOverlapping(new Box(new Interval(0, 10))).isEmpty(), is(true));
+        assertThat(SUT.findNearest(new Box(new Interval(0, 10)), 3).isEmpty(), is(true));
+    }
+
+    @Test
+    public void findOverlapping_adjacentBox_notReturned() throws Exception {
+        Box box1 = new Box(new Interval(0, 5), new Interval(0, 5));
+        Box box2 = new Box(new Interval(5, 10), new Interval(0, 5));
+        SUT = new BoxRTree(Arrays.asList(box1, box2));
+        List<Box> result = SUT.findOverlapping(new Box(new Interval(-3, 5), new Interval(2, 3)));
+        assertThat(result, is(Collections.singletonList(box1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_differentDimensions_exceptionThrown() throws Exception {
+        new BoxRTree(Arrays.asList(new Box(new Interval(0, 5)), new Box(new Interval(0, 5), new Interval(0, 5))));
+    }
+
+    @Test
+    public void findOverlapping_random2dBoxes_sameResultAsOverlapDetector() throws Exception {
+        Random random = new Random(19);
+        List<Box> boxes = randomBoxes(random, 3000, 2);
+        SUT = new BoxRTree(boxes);
+        for (int i = 0; i < 200; i++) {
+            Box window = randomBox(random, 2);
+            List<Box> expected = new ArrayList<>();
+            for (Box box : boxes) {
+                if (mBoxesOverlapDetector.isOverlap(box, window)) {
+                    expected.add(box);
+                }
+            }
+            List<Box> result = SUT.findOverlapping(window);
+            assertThat(result.size(), is(expected.size()));
+            assertThat(new HashSet<>(result), is(new HashSet<>(expected)));
+        }
+    }
+
+    @Test
+    public void findOverlapping_random3dBoxes_sameCountAsOverlapDetector() throws Exception {
+        Random random = new Random(91);
+        List<Box> boxes = randomBoxes(random, 2000, 3);
+        SUT = new BoxRTree(boxes);
+        for (int i = 0; i < 100; i++) {
+            Box window = randomBox(random, 3);
+            int expected = 0;
+            for (Box box : boxes) {
+                if (mBoxesOverlapDetector.isOverlap(box, window)) {
+                    expected++;
+                }
+            }
+            assertThat(SUT.findOverlapping(window).size(), is(expected));
+        }
+    }
+
+    @Test
+    public void findNearest_random2dBoxes_sameDistancesAsFullScan() throws Exception {
+        Random random = new Random(29);
+        List<Box> boxes = randomBoxes(random, 3000, 2);
+        SUT = new BoxRTree(boxes);
+        for (int i = 0; i < 100; i++) {
+            Box query = randomBox(random, 2);
+            List<Double> expected = new ArrayList<>();
+            for (Box box : boxes) {
+                expected.add(mBoxesOverlapDetector.distanceSquared(box, query));
+            }
+            Collections.sort(expected);
+
+            List<Box> result = SUT.findNearest(query, 5);
+            assertThat(result.size(), is(5));
+            for (int j = 0; j < result.size(); j++) {
+                assertThat(mBoxesOverlapDetector.distanceSquared(result.get(j), query), is(expected.get(j)));
+            }
+        }
+    }
+
+    private List<Box> randomBoxes(Random random, int count, int dimensions) {
+        List<Box> boxes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boxes.add(randomBox(random, dimensions));
+        }
+        return boxes;
+    }
+
+    private Box randomBox(Random random, int dimensions) {
+        Interval[] axes = new Interval[dimensions];
+        for (int axis = 0; axis < dimensions; axis++) {
+            int start = random.nextInt(10000) - 5000;
+            axes[axis] = new Interval(start, start + 1 + random.nextInt(200));
+        }
+        return new Box(axes);
+    }
+}
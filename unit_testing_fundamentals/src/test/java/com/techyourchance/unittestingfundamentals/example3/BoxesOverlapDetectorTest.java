@@ -0,0 +1,62 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BoxesOverlapDetectorTest {
+
+    BoxesOverlapDetector SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new BoxesOverlapDetector();
+    }
+
+    @Test
+    public void isOverlap_boxesOverlapAlongAllAxes_trueReturned() throws Exception {
+        Box box1 = new Box(new Interval(-1, 5), new Interval(0, 10));
+        Box box2 = new Box(new Interval(3, 12), new Interval(8, 20));
+        boolean result = SUT.isOverlap(box1, box2);
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void isOverlap_boxesOverlapAlongOneAxisOnly_falseReturned() throws Exception {
+        Box box1 = new Box(new Interval(-1, 5), new Interval(0, 10));
+        Box box2 = new Box(new Interval(3, 12), new Interval(12, 20));
+        boolean result = SUT.isOverlap(box1, box2);
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void isOverlap_boxesAdjacentAlongOneAxis_falseReturned() throws Exception {
+        Box box1 = new Box(new Interval(-1, 5), new Interval(0, 10));
+        Box box2 = new Box(new Interval(5, 12), new Interval(0, 10));
+        boolean result = SUT.isOverlap(box1, box2);
+        assertThat(result, is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void isOverlap_differentDimensions_exceptionThrown() throws Exception {
+        SUT.isOverlap(new Box(new Interval(-1, 5)), new Box(new Interval(-1, 5), new Interval(0, 10)));
+    }
+
+    @Test
+    public void distanceSquared_boxesApartAlongTwoAxes_sumOfSquaredGapsReturned() throws Exception {
+        Box box1 = new Box(new Interval(0, 2), new Interval(0, 2));
+        Box box2 = new Box(new Interval(5, 8), new Interval(-10, -4));
+        double result = SUT.distanceSquared(box1, box2);
+        assertThat(result, is(3.0 * 3 + 4 * 4));
+    }
+
+    @Test
+    public void distanceSquared_adjacentBoxes_zeroReturned() throws Exception {
+        Box box1 = new Box(new Interval(0, 2), new Interval(0, 2));
+        Box box2 = new Box(new Interval(2, 8), new Interval(1, 5));
+        double result = SUT.distanceSquared(box1, box2);
+        assertThat(result, is(0.0));
+    }
+}
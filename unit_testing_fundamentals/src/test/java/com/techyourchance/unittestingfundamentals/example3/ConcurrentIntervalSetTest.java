@@ -0,0 +1,121 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ConcurrentIntervalSetTest {
+
+    ConcurrentIntervalSet SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new ConcurrentIntervalSet(8, 4);
+    }
+
+    @Test
+    public void insertIfNoOverlap_adjacentIntervals_bothInserted() throws Exception {
+        assertThat(SUT.insertIfNoOverlap(new Interval(-1, 5)), is(true));
+        assertThat(SUT.insertIfNoOverlap(new Interval(5, 8)), is(true));
+        assertThat(SUT.toList().size(), is(2));
+    }
+
+    @Test
+    public void insertIfNoOverlap_overlappingInterval_falseReturnedAndNotInserted() throws Exception {
+        SUT.insertIfNoOverlap(new Interval(-1, 5));
+        assertThat(SUT.insertIfNoOverlap(new Interval(3, 12)), is(false));
+        assertThat(SUT.toList().size(), is(1));
+    }
+
+    @Test
+    public void remove_intervalWithSameBounds_removedAndSlotFreed() throws Exception {
+        SUT.insertIfNoOverlap(new Interval(-1, 5));
+        assertThat(SUT.remove(new Interval(-1, 4)), is(false));
+        assertThat(SUT.remove(new Interval(-1, 5)), is(true));
+        assertThat(SUT.insertIfNoOverlap(new Interval(3, 12)), is(true));
+    }
+
+    @Test
+    public void findOverlapping_storedIntervals_overlappingIntervalsReturnedOrderedByStart() throws Exception {
+        Interval overlapsOnStart = new Interval(-4, 0);
+        Interval contained = new Interval(1, 3);
+        Interval overlapsOnEnd = new Interval(4, 12);
+        SUT.insertIfNoOverlap(new Interval(-10, -4));
+        SUT.insertIfNoOverlap(overlapsOnEnd);
+        SUT.insertIfNoOverlap(contained);
+        SUT.insertIfNoOverlap(overlapsOnStart);
+        SUT.insertIfNoOverlap(new Interval(12, 15));
+        List<Interval> result = SUT.findOverlapping(new Interval(-1, 5));
+        assertThat(result, is(Arrays.asList(overlapsOnStart, contained, overlapsOnEnd)));
+        assertThat(SUT.isOverlapping(new Interval(-1, 5)), is(true));
+        assertThat(SUT.isOverlapping(new Interval(15, 20)), is(false));
+    }
+
+    @Test
+    public void insertIfNoOverlap_intervalWrappingPastLastStripe_allStripesReleased() throws Exception {
+        // buckets 7 and 8 map to the last and the first of the 8 stripes
+        SUT.insertIfNoOverlap(new Interval(120, 130));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Boolean> otherThreadInsert = executor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return SUT.insertIfNoOverlap(new Interval(0, 10)) && SUT.insertIfNoOverlap(new Interval(112, 120));
+            }
+        });
+        assertThat(otherThreadInsert.get(5, TimeUnit.SECONDS), is(true));
+        executor.shutdown();
+    }
+
+    @Test
+    public void insertIfNoOverlap_concurrentConflictingInserts_storedIntervalsNeverOverlap() throws Exception {
+        final int threads = 8;
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final Random random = new Random(t);
+            results.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    startSignal.await();
+                    int inserted = 0;
+                    for (int i = 0; i < 5000; i++) {
+                        int start = random.nextInt(20000) - 10000;
+                        Interval interval = new Interval(start, start + 1 + random.nextInt(40));
+                        if (SUT.insertIfNoOverlap(interval)) {
+                            inserted++;
+                        }
+                        if (random.nextInt(4) == 0) {
+                            SUT.remove(interval);
+                        }
+                    }
+                    return inserted;
+                }
+            }));
+        }
+        startSignal.countDown();
+        for (Future<Integer> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        List<Interval> stored = SUT.toList();
+        IntervalsOverlapDetector overlapDetector = new IntervalsOverlapDetector();
+        for (int i = 1; i < stored.size(); i++) {
+            assertThat(overlapDetector.isOverlap(stored.get(i - 1), stored.get(i)), is(false));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class FreeSlotFinderTest {
+
+    private static final int DOMAIN = 2000;
+
+    FreeSlotFinder SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new FreeSlotFinder(Arrays.asList(new Interval(0, 10), new Interval(15, 20), new Interval(8, 12), new Interval(30, 40)));
+    }
+
+    @Test
+    public void constructor_overlappingBusyIntervals_gapsBetweenCoalescedIntervals() throws Exception {
+        // [MIN, 0), [12, 15), [20, 30), [40, MAX)
+        assertThat(SUT.gapCount(), is(4));
+    }
+
+    @Test
+    public void firstFit_timeInsideLongEnoughGap_slotStartsAtTime() throws Exception {
+        assertBounds(SUT.firstFit(21, 5), 21, 26);
+    }
+
+    @Test
+    public void firstFit_slotAdjacentToBusyIntervals_slotReturned() throws Exception {
+        assertBounds(SUT.firstFit(12, 3), 12, 15);
+    }
+
+    @Test
+    public void firstFit_timeInsideBusyInterval_slotStartsAtNextLongEnoughGap() throws Exception {
+        assertBounds(SUT.firstFit(5, 4), 20, 24);
+    }
+
+    @Test
+    public void firstFit_noGapLongEnoughBeforeEnd_slotStartsAfterLastBusyInterval() throws Exception {
+        assertBounds(SUT.firstFit(5, 11), 40, 51);
+    }
+
+    @Test
+    public void firstFit_noGapLongEnough_nullReturned() throws Exception {
+        SUT.insert(new Interval(0, Integer.MAX_VALUE));
+        assertThat(SUT.firstFit(0, 1), is(nullValue()));
+    }
+
+    @Test
+    public void bestFit_multipleGapsFit_shortestGapReturned() throws Exception {
+        assertBounds(SUT.bestFit(3), 12, 15);
+        assertBounds(SUT.bestFit(4), 20, 24);
+    }
+
+    @Test
+    public void insert_busyIntervalInsideGap_gapSplit() throws Exception {
+        SUT.insert(new Interval(24, 26));
+        assertThat(SUT.gapCount(), is(5));
+        assertBounds(SUT.bestFit(4), 20, 24);
+        assertBounds(SUT.bestFit(5), 40, 45);
+    }
+
+    @Test
+    public void insert_busyIntervalCoveringGaps_gapsRemoved() throws Exception {
+        SUT.insert(new Interval(10, 35));
+        assertThat(SUT.gapCount(), is(2));
+        assertBounds(SUT.firstFit(0, 1), 40, 41);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void firstFit_zeroLength_exceptionThrown() throws Exception {
+        SUT.firstFit(0, 0);
+    }
+
+    @Test
+    public void queries_randomIncrementalInserts_sameResultAsPointwiseScan() throws Exception {
+        Random random = new Random(16);
+        SUT = new FreeSlotFinder();
+        boolean[] busy = new boolean[DOMAIN];
+        for (int round = 0; round < 300; round++) {
+            int start = random.nextInt(DOMAIN - 1);
+            int end = Math.min(start + 1 + random.nextInt(30), DOMAIN);
+            SUT.insert(new Interval(start, end));
+            Arrays.fill(busy, start, end, true);
+
+            int time = random.nextInt(DOMAIN);
+            int length = 1 + random.nextInt(20);
+            int expectedStart = expectedFirstFit(busy, time, length);
+            assertBounds(SUT.firstFit(time, length), expectedStart, expectedStart + length);
+            assertThat(SUT.bestFit(length).getStart(), is(expectedBestFit(busy, length)));
+        }
+    }
+
+    private int expectedFirstFit(boolean[] busy, int time, int length) {
+        int free = 0;
+        for (int point = time; point < DOMAIN; point++) {
+            free = busy[point] ? 0 : free + 1;
+            if (free == length) {
+                return point - length + 1;
+            }
+        }
+        return Math.max(time, DOMAIN - free);
+    }
+
+    private int expectedBestFit(boolean[] busy, int length) {
+        // gaps inside the domain ordered by start; the gaps before and after it are the longest
+        List<int[]> gaps = new ArrayList<>();
+        int point = 0;
+        while (point < DOMAIN) {
+            int start = point;
+            while (point < DOMAIN && !busy[point]) {
+                point++;
+            }
+            if (start > 0 && point < DOMAIN && point > start) {
+                gaps.add(new int[] {start, point});
+            }
+            point++;
+        }
+        int[] best = null;
+        for (int[] gap : gaps) {
+            if (gap[1] - gap[0] >= length && (best == null || gap[1] - gap[0] < best[1] - best[0])) {
+                best = gap;
+            }
+        }
+        if (best != null) {
+            return best[0];
+        }
+        int firstBusy = 0;
+        while (!busy[firstBusy]) {
+            firstBusy++;
+        }
+        int lastBusy = DOMAIN - 1;
+        while (!busy[lastBusy]) {
+            lastBusy--;
+        }
+        // the gap after the domain is shorter than the one before it
+        return (long) Integer.MAX_VALUE - (lastBusy + 1) <= (long) firstBusy - Integer.MIN_VALUE ? lastBusy + 1 : Integer.MIN_VALUE;
+    }
+
+    private void assertBounds(Interval interval, int start, int end) {
+        assertThat(interval.getStart(), is(start));
+        assertThat(interval.getEnd(), is(end));
+    }
+}
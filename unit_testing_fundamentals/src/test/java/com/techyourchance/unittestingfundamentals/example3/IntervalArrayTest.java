@@ -0,0 +1,107 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntervalArrayTest {
+
+    IntervalArray SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new IntervalArray(1);
+    }
+
+    @Test
+    public void add_validIntervals_intervalsStoredInOrder() throws Exception {
+        SUT.add(-1, 5);
+        SUT.add(new Interval(3, 12));
+        SUT.add(8, 9);
+        assertThat(SUT.size(), is(3));
+        assertThat(SUT.getStart(1), is(3));
+        assertThat(SUT.getEnd(1), is(12));
+        assertThat(SUT.getStart(2), is(8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_startEqualsEnd_exceptionThrown() throws Exception {
+        SUT.add(5, 5);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getStart_indexNotAdded_exceptionThrown() throws Exception {
+        SUT.add(1, 2);
+        SUT.getStart(1);
+    }
+
+    @Test
+    public void addAll_validColumns_intervalsAppended() throws Exception {
+        SUT.add(0, 1);
+        SUT.addAll(new int[] {9, 2, 4}, new int[] {9, 3, 6}, 1, 2);
+        assertThat(SUT.size(), is(3));
+        assertThat(SUT.getStart(2), is(4));
+        assertThat(SUT.getEnd(2), is(6));
+    }
+
+    @Test
+    public void addAll_invalidIntervalInColumns_exceptionThrownAndNothingAppended() throws Exception {
+        SUT.add(0, 1);
+        try {
+            SUT.addAll(new int[] {2, 7}, new int[] {3, 6}, 0, 2);
+        } catch (IllegalArgumentException e) {
+            assertThat(SUT.size(), is(1));
+            return;
+        }
+        throw new AssertionError("exception expected");
+    }
+
+    @Test
+    public void get_validIndex_intervalWithSameBoundsReturned() throws Exception {
+        SUT.add(-3, 7);
+        Interval result = SUT.get(0);
+        assertThat(result.getStart(), is(-3));
+        assertThat(result.getEnd(), is(7));
+    }
+
+    @Test
+    public void addAllValid_dirtyColumns_validIntervalsAppendedAndInvalidRowsReturned() throws Exception {
+        SUT.add(0, 1);
+        int[] starts = {100, -1, 5, 3, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        int[] ends = {100, 5, 5, 12, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        BitSet result = SUT.addAllValid(starts, ends, 1, 5);
+        assertThat(SUT.size(), is(4));
+        assertThat(SUT.getStart(1), is(-1));
+        assertThat(SUT.getStart(2), is(3));
+        assertThat(SUT.getEnd(3), is(Integer.MAX_VALUE));
+        BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(4);
+        assertThat(result, is(expected));
+    }
+
+    @Test
+    public void addAllValid_manyRows_rejectedRowsInAllWords() throws Exception {
+        int rows = 200;
+        int[] starts = new int[rows];
+        int[] ends = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            starts[i] = i;
+            ends[i] = i % 7 == 0 ? i - 1 : i + 1;
+        }
+        BitSet result = SUT.addAllValid(starts, ends, 0, rows);
+        for (int i = 0; i < rows; i++) {
+            assertThat(result.get(i), is(i % 7 == 0));
+        }
+        assertThat(SUT.size(), is(rows - result.cardinality()));
+    }
+
+    @Test(expected = OutOfMemoryError.class)
+    public void addAllValid_lengthAboveMaxCapacity_errorThrownBeforeGrowing() throws Exception {
+        SUT.addAllValid(new int[0], new int[0], 0, Integer.MAX_VALUE);
+    }
+}
\ No newline at end of file
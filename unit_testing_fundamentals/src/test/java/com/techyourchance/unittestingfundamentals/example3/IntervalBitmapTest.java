@@ -0,0 +1,171 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntervalBitmapTest {
+
+    private static final int DOMAIN_MIN = -200000;
+    private static final int DOMAIN_MAX = 200000;
+
+    @Test
+    public void of_overlappingAndAdjacentIntervals_coalesced() throws Exception {
+        IntervalBitmap result = IntervalBitmap.of(Arrays.asList(
+                new Interval(5, 8), new Interval(-1, 3), new Interval(3, 4), new Interval(6, 12)));
+        assertThat(bounds(result.toIntervals()), is(bounds(Arrays.asList(new Interval(-1, 4), new Interval(5, 12)))));
+        assertThat(result.cardinality(), is(12L));
+    }
+
+    @Test
+    public void of_intervalAcrossContainers_singleIntervalReturned() throws Exception {
+        IntervalBitmap result = IntervalBitmap.of(Arrays.asList(new Interval(-70000, 140000)));
+        assertThat(bounds(result.toIntervals()), is(bounds(Arrays.asList(new Interval(-70000, 140000)))));
+        assertThat(result.cardinality(), is(210000L));
+    }
+
+    @Test
+    public void of_extremeBounds_pointsPreserved() throws Exception {
+        IntervalBitmap result = IntervalBitmap.of(Arrays.asList(
+                new Interval(Integer.MIN_VALUE, Integer.MIN_VALUE + 2), new Interval(Integer.MAX_VALUE - 1, Integer.MAX_VALUE)));
+        assertThat(result.contains(Integer.MIN_VALUE), is(true));
+        assertThat(result.contains(Integer.MIN_VALUE + 2), is(false));
+        assertThat(result.contains(Integer.MAX_VALUE - 1), is(true));
+        assertThat(result.contains(Integer.MAX_VALUE), is(false));
+        assertThat(result.cardinality(), is(3L));
+    }
+
+    @Test
+    public void of_emptyCollection_emptyBitmap() throws Exception {
+        IntervalBitmap result = IntervalBitmap.of(Collections.<Interval>emptyList());
+        assertThat(result.isEmpty(), is(true));
+        assertThat(result.toIntervals().isEmpty(), is(true));
+    }
+
+    @Test
+    public void intersects_adjacentIntervals_falseReturned() throws Exception {
+        IntervalBitmap bitmap1 = IntervalBitmap.of(Arrays.asList(new Interval(-1, 5)));
+        IntervalBitmap bitmap2 = IntervalBitmap.of(Arrays.asList(new Interval(-3, -1), new Interval(5, 8)));
+        assertThat(bitmap1.intersects(bitmap2), is(false));
+    }
+
+    @Test
+    public void and_adjacentIntervals_emptyBitmap() throws Exception {
+        IntervalBitmap bitmap1 = IntervalBitmap.of(Arrays.asList(new Interval(-1, 5)));
+        IntervalBitmap bitmap2 = IntervalBitmap.of(Arrays.asList(new Interval(5, 8)));
+        assertThat(bitmap1.and(bitmap2).isEmpty(), is(true));
+    }
+
+    @Test
+    public void intersects_randomIntervals_sameResultAsOverlapDetector() throws Exception {
+        Random random = new Random(15);
+        IntervalsOverlapDetector overlapDetector = new IntervalsOverlapDetector();
+        for (int round = 0; round < 200; round++) {
+            List<Interval> intervals1 = randomIntervals(random, 1 + random.nextInt(5));
+            List<Interval> intervals2 = randomIntervals(random, 1 + random.nextInt(5));
+            boolean expected = false;
+            for (Interval interval1 : intervals1) {
+                for (Interval interval2 : intervals2) {
+                    expected |= overlapDetector.isOverlap(interval1, interval2);
+                }
+            }
+            assertThat(IntervalBitmap.of(intervals1).intersects(IntervalBitmap.of(intervals2)), is(expected));
+        }
+    }
+
+    @Test
+    public void setOperations_randomIntervals_sameResultAsPointwiseOperations() throws Exception {
+        Random random = new Random(51);
+        for (int round = 0; round < 20; round++) {
+            List<Interval> intervals1 = randomIntervals(random, 30);
+            List<Interval> intervals2 = randomIntervals(random, 30);
+            boolean[] points1 = points(intervals1);
+            boolean[] points2 = points(intervals2);
+            boolean[] and = new boolean[points1.length];
+            boolean[] or = new boolean[points1.length];
+            boolean[] andNot = new boolean[points1.length];
+            for (int i = 0; i < points1.length; i++) {
+                and[i] = points1[i] && points2[i];
+                or[i] = points1[i] || points2[i];
+                andNot[i] = points1[i] && !points2[i];
+            }
+            IntervalBitmap bitmap1 = IntervalBitmap.of(intervals1);
+            IntervalBitmap bitmap2 = IntervalBitmap.of(intervals2);
+            assertThat(bounds(bitmap1.and(bitmap2).toIntervals()), is(bounds(toIntervals(and))));
+            assertThat(bounds(bitmap1.or(bitmap2).toIntervals()), is(bounds(toIntervals(or))));
+            assertThat(bounds(bitmap1.andNot(bitmap2).toIntervals()), is(bounds(toIntervals(andNot))));
+            assertThat(bitmap1.or(bitmap2).cardinality(), is(count(or)));
+        }
+    }
+
+    @Test
+    public void contains_randomIntervals_sameResultAsPointwiseMembership() throws Exception {
+        Random random = new Random(5);
+        List<Interval> intervals = randomIntervals(random, 50);
+        boolean[] points = points(intervals);
+        IntervalBitmap bitmap = IntervalBitmap.of(intervals);
+        for (int i = 0; i < points.length; i += 7) {
+            assertThat(bitmap.contains(DOMAIN_MIN + i), is(points[i]));
+        }
+    }
+
+    private List<Interval> randomIntervals(Random random, int count) {
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int start = DOMAIN_MIN + random.nextInt(DOMAIN_MAX - DOMAIN_MIN - 1);
+            int length = 1 + random.nextInt(random.nextBoolean() ? 100 : 100000);
+            intervals.add(new Interval(start, Math.min(start + length, DOMAIN_MAX)));
+        }
+        return intervals;
+    }
+
+    private boolean[] points(List<Interval> intervals) {
+        boolean[] points = new boolean[DOMAIN_MAX - DOMAIN_MIN];
+        for (Interval interval : intervals) {
+            Arrays.fill(points, interval.getStart() - DOMAIN_MIN, interval.getEnd() - DOMAIN_MIN, true);
+        }
+        return points;
+    }
+
+    private List<Interval> toIntervals(boolean[] points) {
+        List<Interval> intervals = new ArrayList<>();
+        int i = 0;
+        while (i < points.length) {
+            if (!points[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < points.length && points[i]) {
+                i++;
+            }
+            intervals.add(new Interval(DOMAIN_MIN + start, DOMAIN_MIN + i));
+        }
+        return intervals;
+    }
+
+    private long count(boolean[] points) {
+        long count = 0;
+        for (boolean point : points) {
+            if (point) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<List<Integer>> bounds(List<Interval> intervals) {
+        List<List<Integer>> bounds = new ArrayList<>();
+        for (Interval interval : intervals) {
+            bounds.add(Arrays.asList(interval.getStart(), interval.getEnd()));
+        }
+        return bounds;
+    }
+}
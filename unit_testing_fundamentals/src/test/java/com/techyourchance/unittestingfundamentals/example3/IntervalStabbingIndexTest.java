@@ -0,0 +1,111 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntervalStabbingIndexTest {
+
+    IntervalStabbingIndex SUT;
+
+    List<List<Object>> mReported;
+
+    StabbingListener mCollector = new StabbingListener() {
+        @Override
+        public void onIntervalContaining(int point, Interval interval) {
+            mReported.add(Arrays.<Object>asList(point, interval));
+        }
+    };
+
+    @Before
+    public void setup() throws Exception {
+        mReported = new ArrayList<>();
+    }
+
+    @Test
+    public void countContaining_noIntervals_zeroReturned() throws Exception {
+        SUT = new IntervalStabbingIndex(Collections.<Interval>emptyList());
+        assertThat(SUT.countContaining(3), is(0));
+    }
+
+    @Test
+    public void findContaining_pointOnBounds_onlyIntervalStartingAtPointReported() throws Exception {
+        Interval startsAtPoint = new Interval(5, 8);
+        SUT = new IntervalStabbingIndex(Arrays.asList(new Interval(-1, 5), startsAtPoint));
+        SUT.findContaining(5, mCollector);
+        assertThat(mReported, is(Collections.singletonList(Arrays.<Object>asList(5, startsAtPoint))));
+        assertThat(SUT.countContaining(5), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void countContaining_unsortedPoints_exceptionThrown() throws Exception {
+        SUT = new IntervalStabbingIndex(Arrays.asList(new Interval(-1, 5)));
+        SUT.countContaining(new int[] {3, 1}, new int[2]);
+    }
+
+    @Test
+    public void queries_randomIntervals_sameResultAsBruteForce() throws Exception {
+        Random random = new Random(23);
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int start = random.nextInt(10000) - 5000;
+            intervals.add(new Interval(start, start + 1 + random.nextInt(i % 50 == 0 ? 5000 : 100)));
+        }
+        SUT = new IntervalStabbingIndex(intervals);
+
+        int[] points = new int[300];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextInt(12000) - 6000;
+        }
+        Arrays.sort(points);
+        int[] counts = new int[points.length];
+        SUT.countContaining(points, counts);
+        SUT.findContaining(points, mCollector);
+        List<List<Object>> batchReported = mReported;
+
+        for (int i = 0; i < points.length; i++) {
+            Set<Interval> expected = new HashSet<>();
+            for (Interval interval : intervals) {
+                if (interval.getStart() <= points[i] && points[i] < interval.getEnd()) {
+                    expected.add(interval);
+                }
+            }
+            mReported = new ArrayList<>();
+            SUT.findContaining(points[i], mCollector);
+            assertThat(reportedIntervals(mReported, points[i]), is(expected));
+            assertThat(mReported.size(), is(expected.size()));
+            assertThat(SUT.countContaining(points[i]), is(expected.size()));
+            assertThat(counts[i], is(expected.size()));
+        }
+
+        int expectedBatchSize = 0;
+        for (int count : counts) {
+            expectedBatchSize += count;
+        }
+        assertThat(batchReported.size(), is(expectedBatchSize));
+        for (List<Object> reported : batchReported) {
+            Interval interval = (Interval) reported.get(1);
+            int point = (Integer) reported.get(0);
+            assertThat(interval.getStart() <= point && point < interval.getEnd(), is(true));
+        }
+    }
+
+    private Set<Interval> reportedIntervals(List<List<Object>> reported, int point) {
+        Set<Interval> result = new HashSet<>();
+        for (List<Object> entry : reported) {
+            assertThat((Integer) entry.get(0), is(point));
+            result.add((Interval) entry.get(1));
+        }
+        return result;
+    }
+}
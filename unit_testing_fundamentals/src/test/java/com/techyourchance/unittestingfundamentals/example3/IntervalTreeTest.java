@@ -0,0 +1,92 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntervalTreeTest {
+
+    IntervalTree SUT;
+
+    IntervalsOverlapDetector mOverlapDetector;
+
+    @Before
+    public void setup() throws Exception {
+        mOverlapDetector = new IntervalsOverlapDetector();
+    }
+
+    @Test
+    public void findOverlapping_noIntervals_emptyListReturned() throws Exception {
+        SUT = new IntervalTree(Collections.<Interval>emptyList());
+        List<Interval> result = SUT.findOverlapping(new Interval(-1, 5));
+        assertThat(result.isEmpty(), is(true));
+    }
+
+    @Test
+    public void findOverlapping_adjacentIntervals_emptyListReturned() throws Exception {
+        SUT = new IntervalTree(Arrays.asList(new Interval(-3, -1), new Interval(5, 8)));
+        List<Interval> result = SUT.findOverlapping(new Interval(-1, 5));
+        assertThat(result.isEmpty(), is(true));
+    }
+
+    @Test
+    public void findOverlapping_overlappingIntervals_overlappingIntervalsReturnedOrderedByStart() throws Exception {
+        Interval contained = new Interval(0, 3);
+        Interval overlapsOnStart = new Interval(-4, 4);
+        Interval overlapsOnEnd = new Interval(3, 12);
+        SUT = new IntervalTree(Arrays.asList(overlapsOnEnd, new Interval(8, 12), contained,
+                new Interval(-10, -3), overlapsOnStart));
+        List<Interval> result = SUT.findOverlapping(new Interval(-1, 5));
+        assertThat(result, is(Arrays.asList(overlapsOnStart, contained, overlapsOnEnd)));
+    }
+
+    @Test
+    public void isOverlapping_intervalBetweenStoredIntervals_falseReturned() throws Exception {
+        SUT = new IntervalTree(Arrays.asList(new Interval(-10, -3), new Interval(8, 12)));
+        boolean result = SUT.isOverlapping(new Interval(-1, 5));
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void isOverlapping_intervalContainsStoredInterval_trueReturned() throws Exception {
+        SUT = new IntervalTree(Arrays.asList(new Interval(-10, -3), new Interval(0, 3)));
+        boolean result = SUT.isOverlapping(new Interval(-1, 5));
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void findOverlapping_randomIntervals_sameResultAsOverlapDetector() throws Exception {
+        Random random = new Random(42);
+        List<Interval> intervals = randomIntervals(random, 2000);
+        SUT = new IntervalTree(intervals);
+        for (Interval query : randomIntervals(random, 200)) {
+            List<Interval> expected = new ArrayList<>();
+            for (Interval interval : intervals) {
+                if (mOverlapDetector.isOverlap(interval, query)) {
+                    expected.add(interval);
+                }
+            }
+            List<Interval> result = SUT.findOverlapping(query);
+            assertThat(result.size(), is(expected.size()));
+            assertThat(result.containsAll(expected), is(true));
+            assertThat(SUT.isOverlapping(query), is(!expected.isEmpty()));
+        }
+    }
+
+    private List<Interval> randomIntervals(Random random, int count) {
+        List<Interval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(10000) - 5000;
+            intervals.add(new Interval(start, start + 1 + random.nextInt(100)));
+        }
+        return intervals;
+    }
+}
@@ -0,0 +1,102 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class IntervalsCoalescerTest {
+
+    IntervalsCoalescer SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new IntervalsCoalescer();
+    }
+
+    @Test
+    public void coalesce_overlappingAndAdjacentIntervals_mergedIntervalsReturned() throws Exception {
+        Iterator<Interval> result = SUT.coalesce(Arrays.asList(
+                new Interval(-4, 1), new Interval(-1, 5), new Interval(5, 8), new Interval(10, 12)).iterator());
+        assertBounds(result.next(), -4, 8);
+        assertBounds(result.next(), 10, 12);
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test
+    public void coalesce_containedInterval_outerIntervalReturned() throws Exception {
+        Interval outer = new Interval(-1, 5);
+        Iterator<Interval> result = SUT.coalesce(Arrays.asList(outer, new Interval(0, 3)).iterator());
+        assertThat(result.next(), is(sameInstance(outer)));
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void coalesce_unsortedIntervals_exceptionThrown() throws Exception {
+        Iterator<Interval> result = SUT.coalesce(Arrays.asList(new Interval(3, 12), new Interval(-1, 5)).iterator());
+        result.next();
+    }
+
+    @Test
+    public void coalesceParallel_randomUnsortedIntervals_sameResultAsSequentialCoalescing() throws Exception {
+        Random random = new Random(5);
+        IntervalArray intervals = new IntervalArray();
+        List<Interval> sorted = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            int start = random.nextInt(2000000) - 1000000;
+            int end = start + 1 + random.nextInt(30);
+            intervals.add(start, end);
+            sorted.add(new Interval(start, end));
+        }
+        Collections.sort(sorted, new Comparator<Interval>() {
+            @Override
+            public int compare(Interval interval1, Interval interval2) {
+                return Integer.compare(interval1.getStart(), interval2.getStart());
+            }
+        });
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        IntervalArray result;
+        try {
+            result = SUT.coalesce(intervals, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        Iterator<Interval> expected = SUT.coalesce(sorted.iterator());
+        for (int i = 0; i < result.size(); i++) {
+            Interval interval = expected.next();
+            assertThat(result.getStart(i), is(interval.getStart()));
+            assertThat(result.getEnd(i), is(interval.getEnd()));
+        }
+        assertThat(expected.hasNext(), is(false));
+    }
+
+    @Test
+    public void coalesce_emptyArrayInPool_emptyResultReturned() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        IntervalArray result;
+        try {
+            result = SUT.coalesce(new IntervalArray(), pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(result.size(), is(0));
+    }
+
+    private void assertBounds(Interval interval, int start, int end) {
+        assertThat(interval.getStart(), is(start));
+        assertThat(interval.getEnd(), is(end));
+    }
+}
@@ -0,0 +1,138 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntervalsCodecTest {
+
+    IntervalsCodec SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new IntervalsCodec();
+    }
+
+    @Test
+    public void decode_encodedEmptyArray_nothingDecoded() throws Exception {
+        IntervalArray result = decodeStream(encodeStream(new IntervalArray()));
+        assertThat(result.size(), is(0));
+    }
+
+    @Test
+    public void decode_encodedIterator_sameIntervalsDecoded() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SUT.encode(Arrays.asList(new Interval(-1, 5), new Interval(-1, 3), new Interval(8, 12)).iterator(), out);
+        IntervalArray result = decodeStream(out.toByteArray());
+        assertThat(result.size(), is(3));
+        assertInterval(result, 0, -1, 5);
+        assertInterval(result, 1, -1, 3);
+        assertInterval(result, 2, 8, 12);
+    }
+
+    @Test
+    public void decode_extremeBounds_sameIntervalsDecoded() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        intervals.add(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+        IntervalArray result = decodeStream(encodeStream(intervals));
+        assertInterval(result, 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertInterval(result, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encode_unsortedIntervals_exceptionThrown() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(8, 12);
+        intervals.add(-1, 5);
+        encodeStream(intervals);
+    }
+
+    @Test(expected = IOException.class)
+    public void decode_notEncodedStream_exceptionThrown() throws Exception {
+        decodeStream(new byte[] {1, 2, 3, 4, 5, 6});
+    }
+
+    @Test
+    public void encode_denseSortedIntervals_fewBytesPerInterval() throws Exception {
+        IntervalArray intervals = randomSortedIntervals(new Random(2), 10000);
+        assertThat(encodeStream(intervals).length < 3 * intervals.size(), is(true));
+    }
+
+    @Test
+    public void decode_randomIntervalsThroughStreamAndBuffer_sameIntervalsDecoded() throws Exception {
+        IntervalArray intervals = randomSortedIntervals(new Random(20), 1000);
+        ByteBuffer buffer = ByteBuffer.allocate(SUT.maxEncodedSize(intervals.size()));
+        SUT.encode(intervals, buffer);
+        buffer.flip();
+        byte[] streamBytes = encodeStream(intervals);
+        assertThat(buffer.remaining(), is(streamBytes.length));
+
+        IntervalArray fromBuffer = new IntervalArray();
+        SUT.decode(buffer, fromBuffer);
+        IntervalArray fromStream = decodeStream(streamBytes);
+        assertSameIntervals(fromBuffer, intervals);
+        assertSameIntervals(fromStream, intervals);
+    }
+
+    @Test
+    public void decode_minStart_onlyIntervalsStartingAtOrAfterMinStartDecoded() throws Exception {
+        IntervalArray intervals = randomSortedIntervals(new Random(200), 1000);
+        ByteBuffer buffer = ByteBuffer.wrap(encodeStream(intervals));
+        int minStart = intervals.getStart(600);
+        IntervalArray result = new IntervalArray();
+        SUT.decode(buffer, minStart, result);
+
+        IntervalArray expected = new IntervalArray();
+        for (int i = 0; i < intervals.size(); i++) {
+            if (intervals.getStart(i) >= minStart) {
+                expected.add(intervals.getStart(i), intervals.getEnd(i));
+            }
+        }
+        assertSameIntervals(result, expected);
+        assertThat(buffer.hasRemaining(), is(false));
+    }
+
+    private IntervalArray randomSortedIntervals(Random random, int count) {
+        IntervalArray intervals = new IntervalArray();
+        int start = -50000;
+        for (int i = 0; i < count; i++) {
+            start += random.nextInt(30);
+            intervals.add(start, start + 1 + random.nextInt(60));
+        }
+        return intervals;
+    }
+
+    private byte[] encodeStream(IntervalArray intervals) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SUT.encode(intervals, out);
+        return out.toByteArray();
+    }
+
+    private IntervalArray decodeStream(byte[] bytes) throws IOException {
+        IntervalArray result = new IntervalArray();
+        SUT.decode(new ByteArrayInputStream(bytes), result);
+        return result;
+    }
+
+    private void assertSameIntervals(IntervalArray result, IntervalArray expected) {
+        assertThat(result.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertInterval(result, i, expected.getStart(i), expected.getEnd(i));
+        }
+    }
+
+    private void assertInterval(IntervalArray intervals, int index, int start, int end) {
+        assertThat(intervals.getStart(index), is(start));
+        assertThat(intervals.getEnd(index), is(end));
+    }
+}
@@ -0,0 +1,98 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntervalsJoinTest {
+
+    IntervalsJoin SUT;
+
+    IntervalsOverlapDetector mOverlapDetector;
+
+    List<List<Interval>> mPairs;
+
+    OverlappingPairListener mPairsCollector = new OverlappingPairListener() {
+        @Override
+        public void onOverlappingPair(Interval interval1, Interval interval2) {
+            mPairs.add(Arrays.asList(interval1, interval2));
+        }
+    };
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new IntervalsJoin();
+        mOverlapDetector = new IntervalsOverlapDetector();
+        mPairs = new ArrayList<>();
+    }
+
+    @Test
+    public void join_emptySide_noPairsReported() throws Exception {
+        SUT.join(Arrays.asList(new Interval(-1, 5)).iterator(), Collections.<Interval>emptyIterator(), mPairsCollector);
+        assertThat(mPairs.isEmpty(), is(true));
+    }
+
+    @Test
+    public void join_adjacentIntervals_noPairsReported() throws Exception {
+        SUT.join(Arrays.asList(new Interval(-1, 5)).iterator(),
+                Arrays.asList(new Interval(-3, -1), new Interval(5, 8)).iterator(), mPairsCollector);
+        assertThat(mPairs.isEmpty(), is(true));
+    }
+
+    @Test
+    public void join_sameStart_pairReportedLeftFirst() throws Exception {
+        Interval left = new Interval(-1, 5);
+        Interval right = new Interval(-1, 3);
+        SUT.join(Arrays.asList(left).iterator(), Arrays.asList(right).iterator(), mPairsCollector);
+        assertThat(mPairs, is(Collections.singletonList(Arrays.asList(left, right))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void join_unsortedSource_exceptionThrown() throws Exception {
+        SUT.join(Arrays.asList(new Interval(3, 12), new Interval(-1, 5)).iterator(),
+                Arrays.asList(new Interval(0, 20)).iterator(), mPairsCollector);
+    }
+
+    @Test
+    public void join_randomSortedSources_sameResultAsOverlapDetector() throws Exception {
+        Random random = new Random(19);
+        List<Interval> left = sortedRandomIntervals(random, 1500);
+        List<Interval> right = sortedRandomIntervals(random, 1000);
+        SUT.join(left.iterator(), right.iterator(), mPairsCollector);
+
+        int expectedCount = 0;
+        for (Interval leftInterval : left) {
+            for (Interval rightInterval : right) {
+                if (mOverlapDetector.isOverlap(leftInterval, rightInterval)) {
+                    expectedCount++;
+                    assertThat(mPairs.contains(Arrays.asList(leftInterval, rightInterval)), is(true));
+                }
+            }
+        }
+        assertThat(mPairs.size(), is(expectedCount));
+    }
+
+    private List<Interval> sortedRandomIntervals(Random random, int count) {
+        List<Interval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(20000);
+            intervals.add(new Interval(start, start + 1 + random.nextInt(80)));
+        }
+        Collections.sort(intervals, new Comparator<Interval>() {
+            @Override
+            public int compare(Interval interval1, Interval interval2) {
+                return Integer.compare(interval1.getStart(), interval2.getStart());
+            }
+        });
+        return intervals;
+    }
+}
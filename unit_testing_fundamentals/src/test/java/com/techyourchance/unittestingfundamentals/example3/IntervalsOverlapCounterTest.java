@@ -0,0 +1,71 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntervalsOverlapCounterTest {
+
+    IntervalsOverlapCounter SUT;
+
+    ForkJoinPool mPool;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new IntervalsOverlapCounter();
+        mPool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void teardown() throws Exception {
+        mPool.shutdown();
+    }
+
+    @Test
+    public void countOverlaps_adjacentAndContainedIntervals_onlyOverlapsCounted() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(-1, 5);
+        intervals.add(5, 8);
+        intervals.add(0, 3);
+        intervals.add(-1, 5);
+        int[] result = SUT.countOverlaps(intervals, mPool);
+        assertThat(result, is(new int[] {2, 0, 2, 2}));
+    }
+
+    @Test
+    public void countOverlaps_extremeBounds_noOverflow() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        intervals.add(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+        int[] result = SUT.countOverlaps(intervals, mPool);
+        assertThat(result, is(new int[] {1, 1}));
+    }
+
+    @Test
+    public void countOverlaps_randomIntervals_sameResultAsOverlapDetector() throws Exception {
+        Random random = new Random(29);
+        IntervalArray intervals = new IntervalArray();
+        for (int i = 0; i < 20000; i++) {
+            int start = random.nextInt(200000);
+            intervals.add(start, start + 1 + random.nextInt(100));
+        }
+        int[] result = SUT.countOverlaps(intervals, mPool);
+
+        IntervalsOverlapDetector overlapDetector = new IntervalsOverlapDetector();
+        for (int i = 0; i < intervals.size(); i += 97) {
+            int expected = 0;
+            for (int j = 0; j < intervals.size(); j++) {
+                if (i != j && overlapDetector.isOverlap(intervals, i, intervals, j)) {
+                    expected++;
+                }
+            }
+            assertThat(result[i], is(expected));
+        }
+    }
+}
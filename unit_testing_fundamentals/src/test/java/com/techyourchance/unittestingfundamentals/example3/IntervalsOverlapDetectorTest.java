@@ -5,6 +5,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -88,4 +90,91 @@ public class IntervalsOverlapDetectorTest {
         boolean result = SUT.isOverlap(interval1, interval2);
         assertThat(result, is(false));
     }
+
+    @Test
+    public void isOverlap_packedInterval1OverlapsInterval2OnStart_trueReturned() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(-1, 5);
+        intervals.add(3, 12);
+        boolean result = SUT.isOverlap(intervals, 0, intervals, 1);
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void isOverlap_packedInterval1BeforeAdjacentInterval2_falseReturned() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(-1, 5);
+        intervals.add(5, 8);
+        boolean result = SUT.isOverlap(intervals, 0, intervals, 1);
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void isOverlap_boundsInterval1OverlapsInterval2OnEnd_trueReturned() throws Exception {
+        boolean result = SUT.isOverlap(3, 12, -1, 5);
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void isOverlap_boundsInterval1AfterAdjacentInterval2_falseReturned() throws Exception {
+        boolean result = SUT.isOverlap(5, 8, -1, 5);
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void countOverlaps_blockWithOverlappingAndAdjacentIntervals_overlappingIntervalsCounted() throws Exception {
+        int[] starts = {-10, -3, 0, 3, 5};
+        int[] ends = {-3, -1, 3, 12, 8};
+        int result = SUT.countOverlaps(new Interval(-1, 5), starts, ends, 0, starts.length);
+        assertThat(result, is(2));
+    }
+
+    @Test
+    public void isOverlap_randomPairs_sameResultAsAllenRelation() throws Exception {
+        AllenRelationClassifier classifier = new AllenRelationClassifier();
+        Random random = new Random(31);
+        for (int i = 0; i < 10000; i++) {
+            int start1 = random.nextInt(40) - 20;
+            int start2 = random.nextInt(40) - 20;
+            Interval interval1 = new Interval(start1, start1 + 1 + random.nextInt(10));
+            Interval interval2 = new Interval(start2, start2 + 1 + random.nextInt(10));
+            byte relation = classifier.classify(interval1, interval2);
+            boolean expected = relation > AllenRelationClassifier.MEETS && relation < AllenRelationClassifier.MET_BY;
+            assertThat(SUT.isOverlap(interval1, interval2), is(expected));
+            assertThat(SUT.countOverlaps(interval1, new int[] {start2}, new int[] {interval2.getEnd()}, 0, 1),
+                    is(expected ? 1 : 0));
+        }
+    }
+
+    @Test
+    public void isOverlap_extremeBounds_sameResultAsAllenRelation() throws Exception {
+        AllenRelationClassifier classifier = new AllenRelationClassifier();
+        Interval interval1 = new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        Interval interval2 = new Interval(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+        byte relation = classifier.classify(interval1, interval2);
+        assertThat(relation, is(AllenRelationClassifier.FINISHED_BY));
+        assertThat(SUT.isOverlap(interval1, interval2), is(true));
+    }
+
+    @Test
+    public void overlapMask_randomBlock_sameBitsAsIsOverlap() throws Exception {
+        Random random = new Random(13);
+        int size = 1000;
+        int[] starts = new int[size];
+        int[] ends = new int[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = i % 10 == 0 ? Integer.MIN_VALUE : random.nextInt(2000) - 1000;
+            ends[i] = i % 10 == 1 ? Integer.MAX_VALUE : starts[i] + 1 + random.nextInt(50);
+        }
+        Interval probe = new Interval(-20, 30);
+        long[] result = SUT.overlapMask(probe, starts, ends, 7, size);
+        int expectedCount = 0;
+        for (int i = 7; i < size; i++) {
+            boolean expected = SUT.isOverlap(probe, new Interval(starts[i], ends[i]));
+            boolean bit = (result[(i - 7) >>> 6] & (1L << (i - 7))) != 0;
+            assertThat(bit, is(expected));
+            expectedCount += expected ? 1 : 0;
+        }
+        assertThat(SUT.countOverlaps(probe, starts, ends, 7, size), is(expectedCount));
+    }
 }
\ No newline at end of file
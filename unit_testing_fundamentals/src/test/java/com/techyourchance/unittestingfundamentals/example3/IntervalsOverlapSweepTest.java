@@ -0,0 +1,106 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntervalsOverlapSweepTest {
+
+    IntervalsOverlapSweep SUT;
+
+    IntervalsOverlapDetector mOverlapDetector;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new IntervalsOverlapSweep();
+        mOverlapDetector = new IntervalsOverlapDetector();
+    }
+
+    @Test
+    public void findOverlappingPairs_adjacentIntervals_noPairsReported() throws Exception {
+        PairsCollector collector = new PairsCollector();
+        SUT.findOverlappingPairs(Arrays.asList(new Interval(5, 8), new Interval(-1, 5), new Interval(-3, -1)), collector);
+        assertThat(collector.mPairs.isEmpty(), is(true));
+    }
+
+    @Test
+    public void findOverlappingPairs_sameStart_pairReportedOnce() throws Exception {
+        Interval interval1 = new Interval(-1, 5);
+        Interval interval2 = new Interval(-1, 3);
+        PairsCollector collector = new PairsCollector();
+        SUT.findOverlappingPairs(Arrays.asList(interval1, interval2), collector);
+        assertThat(collector.mPairs.size(), is(1));
+        assertThat(collector.contains(interval1, interval2), is(true));
+    }
+
+    @Test
+    public void findOverlappingPairs_randomIntervals_sameResultAsOverlapDetector() throws Exception {
+        List<Interval> intervals = randomIntervals(new Random(7), 3000);
+        PairsCollector collector = new PairsCollector();
+        SUT.findOverlappingPairs(intervals, collector);
+        assertSameAsOverlapDetector(intervals, collector);
+    }
+
+    @Test
+    public void findOverlappingPairsParallel_randomIntervals_sameResultAsOverlapDetector() throws Exception {
+        List<Interval> intervals = randomIntervals(new Random(11), 20000);
+        PairsCollector collector = new PairsCollector();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SUT.findOverlappingPairsParallel(intervals, collector, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertSameAsOverlapDetector(intervals, collector);
+    }
+
+    private void assertSameAsOverlapDetector(List<Interval> intervals, PairsCollector collector) {
+        int expectedCount = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            for (int j = i + 1; j < intervals.size(); j++) {
+                if (mOverlapDetector.isOverlap(intervals.get(i), intervals.get(j))) {
+                    expectedCount++;
+                    assertThat(collector.contains(intervals.get(i), intervals.get(j)), is(true));
+                }
+            }
+        }
+        assertThat(collector.mPairs.size(), is(expectedCount));
+    }
+
+    private List<Interval> randomIntervals(Random random, int count) {
+        List<Interval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(100000) - 50000;
+            intervals.add(new Interval(start, start + 1 + random.nextInt(100)));
+        }
+        return intervals;
+    }
+
+    private static class PairsCollector implements OverlappingPairListener {
+
+        private final Set<List<Interval>> mPairs = new HashSet<>();
+
+        @Override
+        public synchronized void onOverlappingPair(Interval interval1, Interval interval2) {
+            boolean added = mPairs.add(Arrays.asList(interval1, interval2));
+            if (!added || mPairs.contains(Arrays.asList(interval2, interval1))) {
+                throw new AssertionError("pair reported twice");
+            }
+        }
+
+        boolean contains(Interval interval1, Interval interval2) {
+            return mPairs.contains(Arrays.asList(interval1, interval2))
+                    || mPairs.contains(Arrays.asList(interval2, interval1));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LongIntervalTreeTest {
+
+    private static final long BASE = 1526612620000000000L;
+
+    LongIntervalTree SUT;
+
+    LongIntervalsOverlapDetector mOverlapDetector;
+
+    @Before
+    public void setup() throws Exception {
+        mOverlapDetector = new LongIntervalsOverlapDetector();
+    }
+
+    @Test
+    public void findOverlapping_adjacentIntervals_emptyListReturned() throws Exception {
+        SUT = new LongIntervalTree(Arrays.asList(new LongInterval(BASE - 3, BASE - 1), new LongInterval(BASE + 5, BASE + 8)));
+        List<LongInterval> result = SUT.findOverlapping(new LongInterval(BASE - 1, BASE + 5));
+        assertThat(result.isEmpty(), is(true));
+    }
+
+    @Test
+    public void findOverlapping_randomIntervals_sameResultAsOverlapDetector() throws Exception {
+        Random random = new Random(31);
+        List<LongInterval> intervals = randomIntervals(random, 2000);
+        SUT = new LongIntervalTree(intervals);
+        for (LongInterval query : randomIntervals(random, 200)) {
+            List<LongInterval> expected = new ArrayList<>();
+            for (LongInterval interval : intervals) {
+                if (mOverlapDetector.isOverlap(interval, query)) {
+                    expected.add(interval);
+                }
+            }
+            List<LongInterval> result = SUT.findOverlapping(query);
+            assertThat(result.size(), is(expected.size()));
+            assertThat(result.containsAll(expected), is(true));
+            assertThat(SUT.isOverlapping(query), is(!expected.isEmpty()));
+        }
+    }
+
+    private List<LongInterval> randomIntervals(Random random, int count) {
+        List<LongInterval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long start = BASE + random.nextInt(10000) * 1000000L;
+            intervals.add(new LongInterval(start, start + 1 + random.nextInt(100000000)));
+        }
+        return intervals;
+    }
+}
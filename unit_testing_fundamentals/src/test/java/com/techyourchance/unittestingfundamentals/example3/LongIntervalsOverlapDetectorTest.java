@@ -0,0 +1,58 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LongIntervalsOverlapDetectorTest {
+
+    // nanosecond timestamps around 2018-05-18, far beyond the int range
+    private static final long BASE = 1526612620000000000L;
+
+    LongIntervalsOverlapDetector SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new LongIntervalsOverlapDetector();
+    }
+
+    @Test
+    public void isOverlap_interval1BeforeInterval2_falseReturned() throws Exception {
+        LongInterval interval1 = new LongInterval(BASE - 1, BASE + 5);
+        LongInterval interval2 = new LongInterval(BASE + 8, BASE + 12);
+        boolean result = SUT.isOverlap(interval1, interval2);
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void isOverlap_interval1OverlapsInterval2OnStart_trueReturned() throws Exception {
+        LongInterval interval1 = new LongInterval(BASE - 1, BASE + 5);
+        LongInterval interval2 = new LongInterval(BASE + 3, BASE + 12);
+        boolean result = SUT.isOverlap(interval1, interval2);
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void isOverlap_interval1BeforeAdjacentInterval2_falseReturned() throws Exception {
+        LongInterval interval1 = new LongInterval(BASE - 1, BASE + 5);
+        LongInterval interval2 = new LongInterval(BASE + 5, BASE + 8);
+        boolean result = SUT.isOverlap(interval1, interval2);
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void isOverlap_packedInterval1ContainsInterval2_trueReturned() throws Exception {
+        LongIntervalArray intervals = new LongIntervalArray();
+        intervals.add(Long.MIN_VALUE, Long.MAX_VALUE);
+        intervals.add(BASE, BASE + 3);
+        boolean result = SUT.isOverlap(intervals, 0, intervals, 1);
+        assertThat(result, is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_startEqualsEnd_exceptionThrown() throws Exception {
+        new LongInterval(BASE, BASE);
+    }
+}
@@ -0,0 +1,71 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LongIntervalsOverlapSweepTest {
+
+    private static final long BASE = 1526612620000000000L;
+
+    LongIntervalsOverlapSweep SUT;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new LongIntervalsOverlapSweep();
+    }
+
+    @Test
+    public void findOverlappingPairs_randomIntervals_sameCountsAsOverlapDetector() throws Exception {
+        Random random = new Random(37);
+        List<LongInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < 12000; i++) {
+            long start = BASE + random.nextInt(100000) * 1000L;
+            intervals.add(new LongInterval(start, start + 1 + random.nextInt(100000)));
+        }
+        LongIntervalsOverlapDetector overlapDetector = new LongIntervalsOverlapDetector();
+        int expectedCount = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            for (int j = i + 1; j < intervals.size(); j++) {
+                if (overlapDetector.isOverlap(intervals.get(i), intervals.get(j))) {
+                    expectedCount++;
+                }
+            }
+        }
+
+        PairsCounter sequential = new PairsCounter();
+        SUT.findOverlappingPairs(intervals, sequential);
+        PairsCounter parallel = new PairsCounter();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SUT.findOverlappingPairsParallel(intervals, parallel, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(sequential.mCount.get(), is(expectedCount));
+        assertThat(parallel.mCount.get(), is(expectedCount));
+    }
+
+    private static class PairsCounter implements LongOverlappingPairListener {
+
+        private final LongIntervalsOverlapDetector mOverlapDetector = new LongIntervalsOverlapDetector();
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public void onOverlappingPair(LongInterval interval1, LongInterval interval2) {
+            if (!mOverlapDetector.isOverlap(interval1, interval2)) {
+                throw new AssertionError("reported pair doesn't overlap");
+            }
+            mCount.incrementAndGet();
+        }
+    }
+}
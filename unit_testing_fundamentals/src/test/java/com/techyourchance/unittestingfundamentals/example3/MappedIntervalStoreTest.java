@@ -0,0 +1,142 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MappedIntervalStoreTest {
+
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    MappedIntervalStore SUT;
+
+    IntervalsOverlapDetector mOverlapDetector;
+
+    @Before
+    public void setup() throws Exception {
+        mOverlapDetector = new IntervalsOverlapDetector();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        if (SUT != null) {
+            SUT.close();
+        }
+    }
+
+    @Test
+    public void open_writtenUnsortedIntervals_intervalsStoredSortedByStart() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(8, 12);
+        intervals.add(-1, 5);
+        intervals.add(3, 4);
+        SUT = writeAndOpen(intervals);
+        assertThat(SUT.size(), is(3L));
+        assertThat(SUT.getStart(0), is(-1));
+        assertThat(SUT.getEnd(0), is(5));
+        assertThat(SUT.getStart(2), is(8));
+    }
+
+    @Test
+    public void open_emptyStore_queriesFindNothing() throws Exception {
+        SUT = writeAndOpen(new IntervalArray());
+        assertThat(SUT.countOverlapping(-1, 5), is(0L));
+        assertThat(SUT.countContaining(0), is(0L));
+    }
+
+    @Test(expected = IOException.class)
+    public void open_notAStoreFile_exceptionThrown() throws Exception {
+        File file = mTemporaryFolder.newFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[64]);
+        }
+        SUT = MappedIntervalStore.open(file);
+    }
+
+    @Test
+    public void findOverlapping_adjacentIntervals_nothingReported() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(-3, -1);
+        intervals.add(5, 8);
+        SUT = writeAndOpen(intervals);
+        assertThat(SUT.countOverlapping(-1, 5), is(0L));
+    }
+
+    @Test
+    public void findContaining_pointOnBounds_onlyIntervalsStartingAtPointReported() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(-1, 5);
+        intervals.add(5, 8);
+        SUT = writeAndOpen(intervals);
+        final List<Integer> bounds = new ArrayList<>();
+        SUT.findContaining(5, new IntervalBoundsListener() {
+            @Override
+            public void onInterval(int start, int end) {
+                bounds.add(start);
+                bounds.add(end);
+            }
+        });
+        assertThat(bounds, is(Arrays.asList(5, 8)));
+    }
+
+    @Test
+    public void countOverlapping_randomIntervals_sameResultAsOverlapDetector() throws Exception {
+        Random random = new Random(17);
+        IntervalArray intervals = new IntervalArray();
+        for (int i = 0; i < 5000; i++) {
+            int start = random.nextInt(100000) - 50000;
+            intervals.add(start, start + 1 + random.nextInt(i % 100 == 0 ? 20000 : 200));
+        }
+        SUT = writeAndOpen(intervals);
+        for (int q = 0; q < 200; q++) {
+            int start = random.nextInt(100000) - 50000;
+            Interval query = new Interval(start, start + 1 + random.nextInt(500));
+            long expectedOverlapping = 0;
+            long expectedContaining = 0;
+            for (int i = 0; i < intervals.size(); i++) {
+                if (mOverlapDetector.isOverlap(query, intervals.get(i))) {
+                    expectedOverlapping++;
+                }
+                if (intervals.getStart(i) <= start && start < intervals.getEnd(i)) {
+                    expectedContaining++;
+                }
+            }
+            assertThat(SUT.countOverlapping(query.getStart(), query.getEnd()), is(expectedOverlapping));
+            assertThat(SUT.countContaining(start), is(expectedContaining));
+        }
+    }
+
+    @Test
+    public void countOverlapping_longIntervalInFirstBlock_laterBlocksMatchedOnlyByOwnIntervals() throws Exception {
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(0, 1000000);
+        for (int i = 1; i < 10000; i++) {
+            intervals.add(10 * i, 10 * i + 5);
+        }
+        SUT = writeAndOpen(intervals);
+        assertThat(SUT.countOverlapping(50000, 50001), is(2L));
+        assertThat(SUT.countOverlapping(50006, 50010), is(1L));
+        assertThat(SUT.countContaining(99991), is(2L));
+        assertThat(SUT.countContaining(1000000), is(0L));
+    }
+
+    private MappedIntervalStore writeAndOpen(IntervalArray intervals) throws IOException {
+        File file = mTemporaryFolder.newFile();
+        MappedIntervalStore.write(intervals, file);
+        return MappedIntervalStore.open(file);
+    }
+}
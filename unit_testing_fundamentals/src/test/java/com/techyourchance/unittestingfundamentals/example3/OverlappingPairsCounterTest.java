@@ -0,0 +1,115 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class OverlappingPairsCounterTest {
+
+    OverlappingPairsCounter SUT;
+
+    IntervalsOverlapDetector mOverlapDetector;
+
+    @Before
+    public void setup() throws Exception {
+        SUT = new OverlappingPairsCounter();
+        mOverlapDetector = new IntervalsOverlapDetector();
+    }
+
+    @Test
+    public void insert_adjacentIntervals_noPairsCounted() throws Exception {
+        SUT.insert(new Interval(-1, 5));
+        SUT.insert(new Interval(5, 8));
+        SUT.insert(new Interval(-3, -1));
+        assertThat(SUT.getPairCount(), is(0L));
+    }
+
+    @Test
+    public void insert_overlappingIntervals_newOverlapsReturned() throws Exception {
+        assertThat(SUT.insert(new Interval(-1, 5)), is(0));
+        assertThat(SUT.insert(new Interval(3, 12)), is(1));
+        assertThat(SUT.insert(new Interval(0, 4)), is(2));
+        assertThat(SUT.getPairCount(), is(3L));
+    }
+
+    @Test
+    public void insert_duplicateIntervals_duplicatesOverlap() throws Exception {
+        SUT.insert(new Interval(0, 4));
+        SUT.insert(new Interval(0, 4));
+        assertThat(SUT.getPairCount(), is(1L));
+        assertThat(SUT.size(), is(2));
+    }
+
+    @Test
+    public void remove_storedInterval_pairsOfIntervalSubtracted() throws Exception {
+        SUT.insert(new Interval(-1, 5));
+        SUT.insert(new Interval(3, 12));
+        SUT.insert(new Interval(0, 4));
+        boolean result = SUT.remove(new Interval(0, 4));
+        assertThat(result, is(true));
+        assertThat(SUT.getPairCount(), is(1L));
+        assertThat(SUT.size(), is(2));
+    }
+
+    @Test
+    public void remove_intervalNotStored_falseReturned() throws Exception {
+        SUT.insert(new Interval(-1, 5));
+        boolean result = SUT.remove(new Interval(-1, 4));
+        assertThat(result, is(false));
+        assertThat(SUT.size(), is(1));
+    }
+
+    @Test
+    public void findOverlapping_storedIntervals_overlappingOnesReturnedByStart() throws Exception {
+        Interval interval1 = new Interval(3, 12);
+        Interval interval2 = new Interval(-1, 5);
+        SUT.insert(interval1);
+        SUT.insert(interval2);
+        SUT.insert(new Interval(12, 20));
+        SUT.insert(new Interval(-5, -1));
+        List<Interval> result = SUT.findOverlapping(new Interval(0, 12));
+        assertThat(result, is(Arrays.asList(interval2, interval1)));
+    }
+
+    @Test
+    public void pairCount_randomInsertsAndRemoves_sameResultAsPairwiseCount() throws Exception {
+        Random random = new Random(17);
+        List<Interval> stored = new ArrayList<>();
+        for (int round = 0; round < 2000; round++) {
+            if (!stored.isEmpty() && random.nextInt(3) == 0) {
+                Interval removed = stored.remove(random.nextInt(stored.size()));
+                assertThat(SUT.remove(new Interval(removed.getStart(), removed.getEnd())), is(true));
+            } else {
+                int start = random.nextInt(1000) - 500;
+                Interval interval = new Interval(start, start + 1 + random.nextInt(50));
+                SUT.insert(interval);
+                stored.add(interval);
+            }
+            if (round % 100 == 0) {
+                assertThat(SUT.getPairCount(), is(pairwiseCount(stored)));
+                Interval probe = new Interval(-100, 100);
+                assertThat(SUT.findOverlapping(probe).size(), is(SUT.countOverlapping(probe)));
+            }
+        }
+        assertThat(SUT.getPairCount(), is(pairwiseCount(stored)));
+    }
+
+    private long pairwiseCount(List<Interval> intervals) {
+        long count = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            for (int j = i + 1; j < intervals.size(); j++) {
+                if (mOverlapDetector.isOverlap(intervals.get(i), intervals.get(j))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
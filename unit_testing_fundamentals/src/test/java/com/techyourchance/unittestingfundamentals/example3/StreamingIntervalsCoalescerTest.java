@@ -0,0 +1,57 @@
+package com.techyourchance.unittestingfundamentals.example3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class StreamingIntervalsCoalescerTest {
+
+    StreamingIntervalsCoalescer SUT;
+
+    List<Integer> mBounds;
+
+    @Before
+    public void setup() throws Exception {
+        mBounds = new ArrayList<>();
+        SUT = new StreamingIntervalsCoalescer(new IntervalBoundsListener() {
+            @Override
+            public void onInterval(int start, int end) {
+                mBounds.add(start);
+                mBounds.add(end);
+            }
+        });
+    }
+
+    @Test
+    public void add_disjointIntervals_previousIntervalEmittedImmediately() throws Exception {
+        SUT.add(-1, 5);
+        SUT.add(8, 12);
+        assertThat(mBounds, is(Arrays.asList(-1, 5)));
+    }
+
+    @Test
+    public void flush_overlappingAndAdjacentIntervals_singleMergedIntervalEmitted() throws Exception {
+        SUT.add(-1, 5);
+        SUT.add(3, 4);
+        SUT.add(5, 8);
+        SUT.flush();
+        assertThat(mBounds, is(Arrays.asList(-1, 8)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_unsortedInterval_exceptionThrown() throws Exception {
+        SUT.add(3, 12);
+        SUT.add(-1, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_invalidRange_exceptionThrown() throws Exception {
+        SUT.add(5, 5);
+    }
+}
@@ -0,0 +1,74 @@
+package com.techyourchance.unittestingfundamentals.exercise2;
+
+import com.techyourchance.unittestingfundamentals.example2.ReversedView;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class RepeatedViewTest {
+
+    private RepeatedView sut;
+
+    @Test
+    public void charAt_repeatedString_charsOfSourceReturnedCyclically() {
+        sut = new RepeatedView("abc", 3);
+        assertThat(sut.length(), is(9));
+        assertThat(sut.charAt(0), is('a'));
+        assertThat(sut.charAt(4), is('b'));
+        assertThat(sut.charAt(8), is('c'));
+    }
+
+    @Test
+    public void toString_zeroCount_emptyStringReturned() {
+        sut = new RepeatedView("abc", 0);
+        assertThat(sut.toString(), is(""));
+    }
+
+    @Test
+    public void toString_emptySource_emptyStringReturned() {
+        sut = new RepeatedView("", 1000);
+        assertThat(sut.toString(), is(""));
+    }
+
+    @Test
+    public void toString_twoRepeats_sameResultAsDuplicate() {
+        sut = new RepeatedView("hello elksa", 2);
+        assertThat(sut.toString(), is(new StringDuplicator().duplicate("hello elksa")));
+    }
+
+    @Test
+    public void toString_calledTwice_cachedStringReturned() {
+        sut = new RepeatedView("abc", 2);
+        assertThat(sut.toString(), sameInstance(sut.toString()));
+    }
+
+    @Test
+    public void toString_repeatedReversedView_composedResultReturned() {
+        sut = new RepeatedView(new ReversedView("abc"), 2);
+        assertThat(sut.toString(), is("cbacba"));
+    }
+
+    @Test
+    public void subSequence_rangeAcrossRepeats_charsReturned() {
+        sut = new RepeatedView("abc", 3);
+        assertThat(sut.subSequence(2, 7).toString(), is("cabca"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void charAt_indexPastEnd_exceptionThrown() {
+        new RepeatedView("abc", 2).charAt(6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_lengthOverflow_exceptionThrown() {
+        new RepeatedView("abc", Integer.MAX_VALUE / 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_negativeCount_exceptionThrown() {
+        new RepeatedView("abc", -1);
+    }
+}
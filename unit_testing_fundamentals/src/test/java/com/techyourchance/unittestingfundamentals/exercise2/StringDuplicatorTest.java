@@ -5,6 +5,11 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 
@@ -31,4 +36,86 @@ public class StringDuplicatorTest {
     public void duplicate_longString_duplicatedStringreturned() {
         assertThat(sut.duplicate("hello elksa"), is("hello elksahello elksa"));
     }
+
+    @Test
+    public void repeat_zeroCount_emptyStringReturned() {
+        assertThat(sut.repeat("hello", 0), is(""));
+    }
+
+    @Test
+    public void repeat_twoRepeats_sameResultAsDuplicate() {
+        assertThat(sut.repeat("hello elksa", 2), is(sut.duplicate("hello elksa")));
+    }
+
+    @Test
+    public void repeat_countNotPowerOfTwo_exactlyCountCopiesReturned() {
+        assertThat(sut.repeat("ab", 7), is("ababababababab"));
+    }
+
+    @Test
+    public void repeat_manyRepeats_lengthIsSourceLengthTimesCount() {
+        String result = sut.repeat(new StringBuilder("abc"), 1000);
+        assertThat(result.length(), is(3000));
+        assertThat(result.startsWith("abcabc"), is(true));
+        assertThat(result.endsWith("abcabc"), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void repeat_lengthOverflow_exceptionThrown() {
+        sut.repeat("abc", Integer.MAX_VALUE / 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void repeat_negativeCount_exceptionThrown() {
+        sut.repeat("abc", -1);
+    }
+
+    @Test
+    public void repeat_toWriter_sameResultAsRepeat() throws Exception {
+        for (int count : new int[] {0, 1, 5, 3000, 10001}) {
+            StringWriter out = new StringWriter();
+            sut.repeat("abc", count, out);
+            assertThat(out.toString(), is(sut.repeat("abc", count)));
+        }
+    }
+
+    @Test
+    public void repeat_sourceLongerThanBlockToWriter_sameResultAsRepeat() throws Exception {
+        String source = sut.repeat("0123456789", 1000);
+        StringWriter out = new StringWriter();
+        sut.repeat(source, 3, out);
+        assertThat(out.toString(), is(sut.repeat(source, 3)));
+    }
+
+    @Test
+    public void repeat_toOutputStream_encodedRepeatsWritten() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sut.repeat("h\u00E9", 5000, out, StandardCharsets.UTF_8);
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8), is(sut.repeat("h\u00E9", 5000)));
+    }
+
+    @Test
+    public void repeat_lengthOverflowToWriter_noExceptionBeforeWriting() throws Exception {
+        CountingWriter out = new CountingWriter();
+        sut.repeat("abc", Integer.MAX_VALUE / 2, out);
+        assertThat(out.mCount, is(3L * (Integer.MAX_VALUE / 2)));
+    }
+
+    private static class CountingWriter extends Writer {
+
+        private long mCount;
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            mCount += length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
\ No newline at end of file
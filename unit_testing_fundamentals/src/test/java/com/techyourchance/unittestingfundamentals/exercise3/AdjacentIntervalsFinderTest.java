@@ -0,0 +1,114 @@
+package com.techyourchance.unittestingfundamentals.exercise3;
+
+import com.techyourchance.unittestingfundamentals.example3.Interval;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AdjacentIntervalsFinderTest {
+
+    private AdjacentIntervalsFinder sut;
+
+    private IntervalsAdjacencyDetector adjacencyDetector;
+
+    @Before
+    public void setUp() {
+        sut = new AdjacentIntervalsFinder();
+        adjacencyDetector = new IntervalsAdjacencyDetector();
+    }
+
+    @Test
+    public void findAdjacentPairs_sameIntervals_noPairsReported() {
+
+        PairsCollector collector = new PairsCollector();
+
+        sut.findAdjacentPairs(Arrays.asList(new Interval(11, 15), new Interval(11, 15)), collector);
+
+        assertThat(collector.pairs.isEmpty(), is(true));
+    }
+
+    @Test
+    public void findAdjacentPairs_interval1AfterInterval2_earlierIntervalReportedFirst() {
+
+        Interval interval1 = new Interval(10, 15);
+        Interval interval2 = new Interval(7, 10);
+        PairsCollector collector = new PairsCollector();
+
+        sut.findAdjacentPairs(Arrays.asList(interval1, interval2), collector);
+
+        assertThat(collector.pairs, is(Collections.singletonList(Arrays.asList(interval2, interval1))));
+    }
+
+    @Test
+    public void findAdjacentPairs_randomIntervals_sameResultAsAdjacencyDetector() {
+
+        List<Interval> intervals = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(200);
+            intervals.add(new Interval(start, start + 1 + random.nextInt(10)));
+        }
+        PairsCollector collector = new PairsCollector();
+
+        sut.findAdjacentPairs(intervals, collector);
+
+        int expectedCount = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            for (int j = i + 1; j < intervals.size(); j++) {
+                if (adjacencyDetector.isAdjacent(intervals.get(i), intervals.get(j))) {
+                    expectedCount++;
+                }
+            }
+        }
+        assertThat(collector.pairs.size(), is(expectedCount));
+        for (List<Interval> pair : collector.pairs) {
+            assertThat(adjacencyDetector.isAdjacent(pair.get(0), pair.get(1)), is(true));
+        }
+    }
+
+    @Test
+    public void findAdjacencyChains_shuffledShifts_chainsOrderedFromEarliest() {
+
+        Interval morning = new Interval(6, 14);
+        Interval evening = new Interval(14, 22);
+        Interval night = new Interval(22, 30);
+        Interval segment1 = new Interval(100, 110);
+        Interval segment2 = new Interval(110, 120);
+        Interval lonely = new Interval(50, 60);
+
+        List<List<Interval>> result = sut.findAdjacencyChains(
+                Arrays.asList(night, segment2, lonely, morning, segment1, evening));
+
+        assertThat(result.size(), is(2));
+        assertThat(result.contains(Arrays.asList(morning, evening, night)), is(true));
+        assertThat(result.contains(Arrays.asList(segment1, segment2)), is(true));
+    }
+
+    @Test
+    public void findAdjacencyChains_twoIntervalsStartAtSamePoint_chainBroken() {
+
+        List<List<Interval>> result = sut.findAdjacencyChains(
+                Arrays.asList(new Interval(1, 5), new Interval(5, 10), new Interval(5, 8)));
+
+        assertThat(result.isEmpty(), is(true));
+    }
+
+    private static class PairsCollector implements AdjacentPairListener {
+
+        private final List<List<Interval>> pairs = new ArrayList<>();
+
+        @Override
+        public void onAdjacentPair(Interval earlier, Interval later) {
+            pairs.add(Arrays.asList(earlier, later));
+        }
+    }
+}
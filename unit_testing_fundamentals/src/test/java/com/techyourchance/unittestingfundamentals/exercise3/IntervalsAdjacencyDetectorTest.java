@@ -1,6 +1,7 @@
 package com.techyourchance.unittestingfundamentals.exercise3;
 
 import com.techyourchance.unittestingfundamentals.example3.Interval;
+import com.techyourchance.unittestingfundamentals.example3.IntervalArray;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -98,4 +99,24 @@ public class IntervalsAdjacencyDetectorTest {
 
         assertThat(sut.isAdjacent(interval1, interval2), is(false));
     }
+
+    @Test
+    public void isAdjacent_packedInterval1AdjacentStartInterval2_trueReturned() {
+
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(1, 5);
+        intervals.add(5, 10);
+
+        assertThat(sut.isAdjacent(intervals, 0, intervals, 1), is(true));
+    }
+
+    @Test
+    public void isAdjacent_packedInterval1SameInterval2_falseReturned() {
+
+        IntervalArray intervals = new IntervalArray();
+        intervals.add(11, 15);
+        intervals.add(11, 15);
+
+        assertThat(sut.isAdjacent(intervals, 0, intervals, 1), is(false));
+    }
 }
\ No newline at end of file
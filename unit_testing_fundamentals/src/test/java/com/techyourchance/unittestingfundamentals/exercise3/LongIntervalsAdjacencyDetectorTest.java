@@ -0,0 +1,59 @@
+package com.techyourchance.unittestingfundamentals.exercise3;
+
+import com.techyourchance.unittestingfundamentals.example3.LongInterval;
+import com.techyourchance.unittestingfundamentals.example3.LongIntervalArray;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LongIntervalsAdjacencyDetectorTest {
+
+    private static final long BASE = 1526612620000L;
+
+    private LongIntervalsAdjacencyDetector sut;
+
+    @Before
+    public void setUp() {
+        sut = new LongIntervalsAdjacencyDetector();
+    }
+
+    @Test
+    public void isAdjacent_interval1AdjacentStartInterval2_trueReturned() {
+
+        LongInterval interval1 = new LongInterval(BASE + 1, BASE + 5);
+        LongInterval interval2 = new LongInterval(BASE + 5, BASE + 10);
+
+        assertThat(sut.isAdjacent(interval1, interval2), is(true));
+    }
+
+    @Test
+    public void isAdjacent_interval1AdjacentEndInterval2_trueReturned() {
+
+        LongInterval interval1 = new LongInterval(BASE + 10, BASE + 15);
+        LongInterval interval2 = new LongInterval(BASE + 7, BASE + 10);
+
+        assertThat(sut.isAdjacent(interval1, interval2), is(true));
+    }
+
+    @Test
+    public void isAdjacent_interval1OverlapsStartInterval2_falseReturned() {
+
+        LongInterval interval1 = new LongInterval(BASE + 1, BASE + 5);
+        LongInterval interval2 = new LongInterval(BASE + 4, BASE + 10);
+
+        assertThat(sut.isAdjacent(interval1, interval2), is(false));
+    }
+
+    @Test
+    public void isAdjacent_packedInterval1SameInterval2_falseReturned() {
+
+        LongIntervalArray intervals = new LongIntervalArray();
+        intervals.add(BASE + 11, BASE + 15);
+        intervals.add(BASE + 11, BASE + 15);
+
+        assertThat(sut.isAdjacent(intervals, 0, intervals, 1), is(false));
+    }
+}